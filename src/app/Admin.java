@@ -1,5 +1,6 @@
 package app;
 
+import app.audio.CatalogSnapshot;
 import app.audio.Collections.Album;
 import app.audio.Collections.AudioCollection;
 import app.audio.Collections.Playlist;
@@ -7,14 +8,32 @@ import app.audio.Collections.Podcast;
 import app.audio.Files.AudioFile;
 import app.audio.Files.Episode;
 import app.audio.Files.Song;
+import app.audio.Files.SongCatalog;
+import app.monetization.ArtistRevenue;
+import app.monetization.ListenRevenueShares;
+import app.notifications.Notification;
+import app.notifications.NotificationCenter;
+import app.pages.Page;
+import app.player.PlaybackScheduler;
 import app.player.Player;
+import app.recommendations.FanRankingStatistics;
+import app.recommendations.GenreIndex;
+import app.searchBar.ContentCreatorIndex;
+import app.snapshot.SnapshotReader;
+import app.snapshot.SnapshotWriter;
+import app.statistics.CreatorWrappedStatistics;
+import app.statistics.ListenPipeline;
+import app.statistics.UserWrappedStatistics;
 import app.user.Announcement;
 import app.user.Artist;
+import app.user.ContentCreator;
 import app.user.Event;
+import app.user.EventDate;
 import app.user.Host;
 import app.user.Merchandise;
 import app.user.User;
 import app.user.UserAbstract;
+import app.utils.Enums;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import fileio.input.CommandInput;
@@ -24,15 +43,22 @@ import fileio.input.SongInput;
 import fileio.input.UserInput;
 import lombok.Getter;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -40,28 +66,39 @@ import java.util.stream.Stream;
  * The type Admin.
  */
 public final class Admin {
+    @Getter
     private List<User> users = new ArrayList<>();
     @Getter
     private List<Artist> artists = new ArrayList<>();
     @Getter
     private List<Host> hosts = new ArrayList<>();
-    private List<Song> songs = new ArrayList<>();
-    private List<Podcast> podcasts = new ArrayList<>();
+    private final ContentCreatorIndex<Artist> artistIndex = new ContentCreatorIndex<>();
+    private final ContentCreatorIndex<Host> hostIndex = new ContentCreatorIndex<>();
+    private volatile CatalogSnapshot catalog = CatalogSnapshot.EMPTY;
+    @Getter
+    private final GenreIndex genreIndex = new GenreIndex();
+    private final NavigableMap<Long, Playlist> publicPlaylists = new TreeMap<>();
+    private final NavigableSet<Event> eventCalendar = new TreeSet<>(Event.BY_DATE);
+    private final NavigableMap<Integer, User> onlineUsers = new TreeMap<>();
+    private List<String> allUserNames;
+    private int registeredUsers = 0;
+    @Getter
+    private final NotificationCenter notificationCenter = new NotificationCenter();
+    @Getter
+    private final ListenPipeline listenEvents = new ListenPipeline();
+    private final PlaybackScheduler playbackScheduler = new PlaybackScheduler();
+    @Getter
     private int timestamp = 0;
     private final int limit = 5;
-    private final int dateStringLength = 10;
-    private final int dateFormatSize = 3;
-    private final int dateYearLowerLimit = 1900;
-    private final int dateYearHigherLimit = 2023;
-    private final int dateMonthLowerLimit = 1;
-    private final int dateMonthHigherLimit = 12;
-    private final int dateDayLowerLimit = 1;
-    private final int dateDayHigherLimit = 31;
-    private final int dateFebHigherLimit = 28;
     private static Admin instance;
+    private static final double HUNDRED = 100.0;
     private final int ageArtist = 69;
 
     private Admin() {
+        listenEvents.register(new UserWrappedStatistics());
+        listenEvents.register(new CreatorWrappedStatistics());
+        listenEvents.register(new FanRankingStatistics());
+        listenEvents.register(new ListenRevenueShares());
     }
 
     /**
@@ -83,6 +120,35 @@ public final class Admin {
         instance = null;
     }
 
+    /**
+     * Saves the library, the users and their players to a binary snapshot.
+     *
+     * @param path the snapshot file
+     * @throws IOException if the file can't be written
+     */
+    public void saveSnapshot(final Path path) throws IOException {
+        users.forEach(user -> user.catchUp(timestamp));
+        listenEvents.flush();
+        notificationCenter.flush();
+        new SnapshotWriter(this).write(path);
+    }
+
+    /**
+     * Replaces the instance with one restored from a snapshot. Classes that keep a reference
+     * to the instance have to be updated afterwards, as after {@link #resetInstance()}.
+     *
+     * @param path the snapshot file
+     * @return the restored instance
+     * @throws IOException if the file can't be read
+     */
+    public static Admin restoreSnapshot(final Path path) throws IOException {
+        resetInstance();
+        Admin admin = getInstance();
+        new SnapshotReader(admin).read(path);
+        admin.users.forEach(user -> admin.playbackScheduler.schedule(user, admin.timestamp));
+        return admin;
+    }
+
     /**
      * Sets users.
      *
@@ -90,21 +156,57 @@ public final class Admin {
      */
     public void setUsers(final List<UserInput> userInputList) {
         for (UserInput userInput : userInputList) {
-            users.add(new User(userInput.getUsername(), userInput.getAge(), userInput.getCity()));
+            registerUser(new User(userInput.getUsername(), userInput.getAge(),
+                    userInput.getCity()));
         }
     }
 
+    /**
+     * Register user.
+     *
+     * @param user the user
+     */
+    public void registerUser(final User user) {
+        user.setRegistrationIndex(registeredUsers++);
+        user.setSimulatedTimestamp(timestamp);
+        users.add(user);
+        updateOnlineStatus(user);
+        allUserNames = null;
+    }
+
     /**
      * Sets songs.
      *
      * @param songInputList the song input list
      */
     public void setSongs(final List<SongInput> songInputList) {
+        List<Song> newSongs = new ArrayList<>(songInputList.size());
         for (SongInput songInput : songInputList) {
-            songs.add(new Song(songInput.getName(), songInput.getDuration(), songInput.getAlbum(),
-                    songInput.getTags(), songInput.getLyrics(), songInput.getGenre(),
-                    songInput.getReleaseYear(), songInput.getArtist()));
+            newSongs.add(new Song(songInput.getName(), songInput.getDuration(),
+                    songInput.getAlbum(), songInput.getTags(), songInput.getLyrics(),
+                    songInput.getGenre(), songInput.getReleaseYear(), songInput.getArtist()));
         }
+        registerSongs(newSongs);
+    }
+
+    /**
+     * Sets songs from a song catalog file, whose songs read their details from the file
+     * instead of keeping them on the heap.
+     *
+     * @param songCatalog the song catalog
+     */
+    public void setSongs(final SongCatalog songCatalog) {
+        registerSongs(songCatalog.getSongs());
+    }
+
+    /**
+     * Adds songs at the end of the catalog.
+     *
+     * @param newSongs the songs
+     */
+    public void registerSongs(final List<Song> newSongs) {
+        catalog = catalog.addSongs(newSongs);
+        newSongs.forEach(genreIndex::add);
     }
     /**
      * Adds a new artist to the collection with a specified
@@ -118,7 +220,48 @@ public final class Admin {
      * The username must not be null; otherwise, an {@code IllegalArgumentException} is thrown.
      */
     public void addArtist(final String username) {
-        artists.add(new Artist(username, ageArtist, "Bucuresti"));
+        registerArtist(new Artist(username, ageArtist, "Bucuresti"));
+    }
+
+    /**
+     * Gets an artist, adding it with default details if it doesn't exist yet.
+     *
+     * @param username the username
+     * @return the artist
+     */
+    public Artist getOrAddArtist(final String username) {
+        Artist artist = getArtist(username);
+        if (artist == null) {
+            addArtist(username);
+            artist = getArtist(username);
+        }
+        return artist;
+    }
+
+    /**
+     * Register artist.
+     *
+     * @param artist the artist
+     */
+    public void registerArtist(final Artist artist) {
+        artists.add(artist);
+        allUserNames = null;
+        eventCalendar.addAll(artist.getEvents());
+        if (!artist.getAlbums().isEmpty()) {
+            catalog = catalog.addAlbums(artist.getAlbums());
+        }
+        artistIndex.add(artist);
+    }
+
+    /**
+     * Register host.
+     *
+     * @param host the host
+     */
+    public void registerHost(final Host host) {
+        hosts.add(host);
+        allUserNames = null;
+        hostIndex.add(host);
     }
 
     /**
@@ -127,6 +270,7 @@ public final class Admin {
      * @param podcastInputList the podcast input list
      */
     public void setPodcasts(final List<PodcastInput> podcastInputList) {
+        List<Podcast> newPodcasts = new ArrayList<>(podcastInputList.size());
         for (PodcastInput podcastInput : podcastInputList) {
             List<Episode> episodes = new ArrayList<>();
             for (EpisodeInput episodeInput : podcastInput.getEpisodes()) {
@@ -134,26 +278,47 @@ public final class Admin {
                         episodeInput.getDuration(),
                         episodeInput.getDescription()));
             }
-            podcasts.add(new Podcast(podcastInput.getName(), podcastInput.getOwner(), episodes));
+            newPodcasts.add(new Podcast(podcastInput.getName(), podcastInput.getOwner(),
+                    episodes));
         }
+        registerPodcasts(newPodcasts);
+    }
+
+    /**
+     * Adds podcasts at the end of the catalog.
+     *
+     * @param newPodcasts the podcasts
+     */
+    public void registerPodcasts(final List<Podcast> newPodcasts) {
+        catalog = catalog.addPodcasts(newPodcasts);
+    }
+
+    /**
+     * Gets the current version of the catalog. Its lists never change, so they can be read
+     * without copying, even while commands change the library.
+     *
+     * @return the catalog snapshot
+     */
+    public CatalogSnapshot getCatalog() {
+        return catalog;
     }
 
     /**
      * Gets songs.
      *
-     * @return the songs
+     * @return the songs, which can't be modified
      */
     public List<Song> getSongs() {
-        return new ArrayList<>(songs);
+        return catalog.getSongs();
     }
 
     /**
      * Gets podcasts.
      *
-     * @return the podcasts
+     * @return the podcasts, which can't be modified
      */
     public List<Podcast> getPodcasts() {
-        return new ArrayList<>(podcasts);
+        return catalog.getPodcasts();
     }
 
     /**
@@ -167,30 +332,111 @@ public final class Admin {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Gets the playlists visible to a user: every public playlist plus the user's own
+     * private ones, in the same order as filtering {@link #getPlaylists()} would give.
+     *
+     * @param username the username
+     * @return the visible playlists
+     */
+    public List<Playlist> getVisiblePlaylists(final String username) {
+        User owner = getUser(username);
+        if (owner == null) {
+            return new ArrayList<>(publicPlaylists.values());
+        }
+
+        long ownerStart = Playlist.orderKey(owner.getRegistrationIndex(), 0);
+        long ownerEnd = Playlist.orderKey(owner.getRegistrationIndex() + 1, 0);
+
+        List<Playlist> visible = new ArrayList<>(publicPlaylists.headMap(ownerStart).values());
+        visible.addAll(owner.getPlaylists());
+        visible.addAll(publicPlaylists.tailMap(ownerEnd).values());
+        return visible;
+    }
+
+    /**
+     * Updates the public playlist index after a playlist was created or its visibility
+     * was switched.
+     *
+     * @param playlist the playlist
+     */
+    public void updatePlaylistVisibility(final Playlist playlist) {
+        if (playlist.getVisibility() == Enums.Visibility.PUBLIC) {
+            publicPlaylists.put(playlist.getSearchOrder(), playlist);
+        } else {
+            publicPlaylists.remove(playlist.getSearchOrder());
+        }
+    }
+
     /**
      * Gets albums.
      *
-     * @return the albums
+     * @return the albums, which can't be modified
      */
     public List<Album> getAlbums() {
+        return catalog.getAlbums();
+    }
+
+    private List<Album> allAlbums() {
         return artists.stream()
                 .flatMap(artist -> artist.getAlbums().stream())
-                .collect(Collectors.toList());
+                .toList();
+    }
+
+    /**
+     * Gets the position of an artist's last album in the album order, which lists the albums
+     * of each artist in turn.
+     */
+    private int lastAlbumPosition(final Artist artist) {
+        int position = 0;
+        for (Artist other : artists) {
+            position += other.getAlbums().size();
+            if (other == artist) {
+                break;
+            }
+        }
+        return position - 1;
     }
 
     /**
      * Gets all users.
      *
-     * @return the all users
+     * @return the usernames of the users, artists and hosts, which can't be modified
      */
     public List<String> getAllUsers() {
-        List<String> allUsers = new ArrayList<>();
+        if (allUserNames == null) {
+            String[] names = new String[users.size() + artists.size() + hosts.size()];
+            int i = 0;
+            for (List<? extends UserAbstract> registry : List.of(users, artists, hosts)) {
+                for (UserAbstract user : registry) {
+                    names[i++] = user.getUsername();
+                }
+            }
+            allUserNames = Collections.unmodifiableList(Arrays.asList(names));
+        }
+        return allUserNames;
+    }
 
-        allUsers.addAll(users.stream().map(UserAbstract::getUsername).toList());
-        allUsers.addAll(artists.stream().map(UserAbstract::getUsername).toList());
-        allUsers.addAll(hosts.stream().map(UserAbstract::getUsername).toList());
+    /**
+     * Searches artists by username prefix.
+     *
+     * @param prefix the username prefix, or null for every artist
+     * @param max    the maximum number of results
+     * @return the matching artists
+     */
+    public List<Artist> searchArtists(final String prefix, final int max) {
+        return artistIndex.search(prefix, max);
+    }
 
-        return allUsers;
+    /**
+     * Searches hosts by username prefix.
+     *
+     * @param prefix the username prefix, or null for every host
+     * @param max    the maximum number of results
+     * @return the matching hosts
+     */
+    public List<Host> searchHosts(final String prefix, final int max) {
+        return hostIndex.search(prefix, max);
     }
 
     /**
@@ -213,10 +459,7 @@ public final class Admin {
      * @return the artist
      */
     public Artist getArtist(final String username) {
-        return artists.stream()
-                .filter(artist -> artist.getUsername().equals(username))
-                .findFirst()
-                .orElse(null);
+        return artistIndex.get(username);
     }
 
     /**
@@ -226,10 +469,7 @@ public final class Admin {
      * @return the host
      */
     public Host getHost(final String username) {
-        return hosts.stream()
-                .filter(artist -> artist.getUsername().equals(username))
-                .findFirst()
-                .orElse(null);
+        return hostIndex.get(username);
     }
 
     /**
@@ -240,6 +480,8 @@ public final class Admin {
     public void updateTimestamp(final int newTimestamp) {
         int elapsed = newTimestamp - timestamp;
         timestamp = newTimestamp;
+        notificationCenter.deliverBatch();
+        listenEvents.flush();
 
         if (elapsed == 0) {
             return;
@@ -247,7 +489,32 @@ public final class Admin {
             throw new IllegalArgumentException("Invalid timestamp" + newTimestamp);
         }
 
-        users.forEach(user -> user.simulateTime(elapsed));
+        playbackScheduler.advance(newTimestamp);
+        listenEvents.flush();
+    }
+
+    /**
+     * Simulates a user's player up to the current timestamp, before one of its commands.
+     *
+     * @param username the username, which may not belong to a user
+     */
+    public void catchUp(final String username) {
+        User user = getUser(username);
+        if (user != null) {
+            user.catchUp(timestamp);
+        }
+    }
+
+    /**
+     * Schedules the next event of a user's player, after one of its commands.
+     *
+     * @param username the username, which may not belong to a user anymore
+     */
+    public void schedulePlayback(final String username) {
+        User user = getUser(username);
+        if (user != null) {
+            playbackScheduler.schedule(user, timestamp);
+        }
     }
     /**
      * Retrieves an abstract user based on the provided username.
@@ -291,11 +558,11 @@ public final class Admin {
         }
 
         if (type.equals("user")) {
-            users.add(new User(username, age, city));
+            registerUser(new User(username, age, city));
         } else if (type.equals("artist")) {
-            artists.add(new Artist(username, age, city));
+            registerArtist(new Artist(username, age, city));
         } else {
-            hosts.add(new Host(username, age, city));
+            registerHost(new Host(username, age, city));
         }
 
         return "The username %s has been added successfully.".formatted(username);
@@ -334,14 +601,26 @@ public final class Admin {
             return "%s can't be deleted.".formatted(user.getUsername());
         }
 
-        user.getLikedSongs().forEach(Song::dislike);
-        user.getFollowedPlaylists().forEach(Playlist::decreaseFollowers);
-
-        users.stream().filter(otherUser -> otherUser != user)
-                .forEach(otherUser -> otherUser.getFollowedPlaylists()
-                        .removeAll(user.getPlaylists()));
-
+        user.getSubscriptions().forEach(creator -> creator.getSubscribers().remove(user));
+        notificationCenter.removeUser(user);
+        user.getLikedSongs().forEach(song -> genreIndex.updateLikes(song,
+                () -> song.dislike(user)));
+        user.getPlaylists().forEach(playlist -> playlist.getSongs()
+                .forEach(song -> song.removePlaylist(playlist)));
+        user.getPlaylistRecommendations().forEach(playlist -> playlist.getSongs()
+                .forEach(song -> song.removePlaylist(playlist)));
+        user.getFollowedPlaylists().forEach(playlist -> playlist.removeFollower(user));
+
+        user.getPlaylists().forEach(playlist -> playlist.getFollowedBy().forEach(follower -> {
+            follower.getFollowedPlaylists().remove(playlist);
+            follower.invalidatePages();
+        }));
+
+        user.getPlaylists().forEach(playlist -> publicPlaylists.remove(playlist.getSearchOrder()));
         users.remove(user);
+        onlineUsers.remove(user.getRegistrationIndex());
+        allUserNames = null;
+        playbackScheduler.remove(user);
         return "%s was successfully deleted.".formatted(user.getUsername());
     }
 
@@ -352,8 +631,12 @@ public final class Admin {
             return "%s can't be deleted.".formatted(host.getUsername());
         }
 
-        host.getPodcasts().forEach(podcast -> podcasts.remove(podcast));
+        unsubscribeAll(host);
+        host.markDeleted();
+        catalog = catalog.removePodcasts(host.getPodcasts());
         hosts.remove(host);
+        allUserNames = null;
+        hostIndex.remove(host);
 
         return "%s was successfully deleted.".formatted(host.getUsername());
     }
@@ -366,16 +649,39 @@ public final class Admin {
             return "%s can't be deleted.".formatted(artist.getUsername());
         }
 
-        users.forEach(user -> artist.getAlbums().forEach(album -> album.getSongs().forEach(song -> {
-            user.getLikedSongs().remove(song);
-            user.getPlaylists().forEach(playlist -> playlist.removeSong(song));
-        })));
+        unsubscribeAll(artist);
+        artist.markDeleted();
+        artist.getAllSongs().forEach(this::detachSong);
+        artist.getAllSongs().forEach(genreIndex::remove);
 
-        songs.removeAll(artist.getAllSongs());
         artists.remove(artist);
+        allUserNames = null;
+        artist.getEvents().forEach(eventCalendar::remove);
+        catalog = catalog.removeSongs(artist.getAllSongs(), allAlbums());
+        artistIndex.remove(artist);
         return "%s was successfully deleted.".formatted(artist.getUsername());
     }
 
+    private void unsubscribeAll(final ContentCreator creator) {
+        notificationCenter.removeCreator(creator);
+        creator.getSubscribers().forEach(user -> user.getSubscriptions().remove(creator));
+        creator.getSubscribers().clear();
+    }
+
+    private void notifySubscribers(final ContentCreator creator, final String name) {
+        notificationCenter.publish(creator, new Notification(name,
+                "%s from %s.".formatted(name, creator.getUsername())));
+    }
+
+    private void detachSong(final Song song) {
+        song.getLikedBy().forEach(user -> {
+            user.getLikedSongs().remove(song);
+            user.invalidatePages();
+        });
+        song.getLikedBy().clear();
+        new ArrayList<>(song.getPlaylists()).forEach(playlist -> playlist.removeSong(song));
+    }
+
     /**
      * Add album string.
      *
@@ -416,12 +722,16 @@ public final class Admin {
             return "%s has the same song at least twice in this album.".formatted(username);
         }
 
-        songs.addAll(newSongs);
-        currentArtist.getAlbums().add(new Album(albumName,
+        newSongs.forEach(genreIndex::add);
+        Album album = new Album(albumName,
                 commandInput.getDescription(),
                 username,
                 newSongs,
-                commandInput.getReleaseYear()));
+                commandInput.getReleaseYear());
+        currentArtist.getAlbums().add(album);
+        catalog = catalog.addAlbum(newSongs, album, lastAlbumPosition(currentArtist));
+        currentArtist.invalidatePage();
+        notifySubscribers(currentArtist, "New Album");
         return "%s has added new album successfully.".formatted(username);
     }
 
@@ -461,14 +771,13 @@ public final class Admin {
         }
 
         for (Song song: searchedAlbum.getSongs()) {
-            users.forEach(user -> {
-                user.getLikedSongs().remove(song);
-                user.getPlaylists().forEach(playlist -> playlist.removeSong(song));
-            });
-            songs.remove(song);
+            detachSong(song);
+            genreIndex.remove(song);
         }
 
         currentArtist.getAlbums().remove(searchedAlbum);
+        catalog = catalog.removeSongs(searchedAlbum.getSongs(), allAlbums());
+        currentArtist.invalidatePage();
         return "%s deleted the album successfully.".formatted(username);
     }
 
@@ -510,7 +819,9 @@ public final class Admin {
 
         Podcast newPodcast = new Podcast(podcastName, username, episodes);
         currentHost.getPodcasts().add(newPodcast);
-        podcasts.add(newPodcast);
+        currentHost.invalidatePage();
+        registerPodcasts(List.of(newPodcast));
+        notifySubscribers(currentHost, "New Podcast");
 
         return "%s has added new podcast successfully.".formatted(username);
     }
@@ -545,7 +856,8 @@ public final class Admin {
         }
 
         currentHost.getPodcasts().remove(searchedPodcast);
-        podcasts.remove(searchedPodcast);
+        currentHost.invalidatePage();
+        catalog = catalog.removePodcasts(List.of(searchedPodcast));
         return "%s deleted the podcast successfully.".formatted(username);
     }
     /**
@@ -563,24 +875,38 @@ public final class Admin {
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode output = objectMapper.createObjectNode();
 
-        this.artists.sort(Comparator.comparing(Artist::getUsername));
+        listenEvents.flush();
+        users.stream().filter(User::isPremium).forEach(User::payOutPremium);
+
+        List<Artist> ranked = artists.stream()
+                .filter(artist -> !artist.getBestFans().isEmpty()
+                        || artist.getRevenue().getTotalRevenue() > 0)
+                .sorted(Comparator.comparingDouble((Artist artist) -> artist.getRevenue()
+                                .getTotalRevenue()).reversed()
+                        .thenComparing(Artist::getUsername))
+                .toList();
+
         int count = 1;
-        for (Artist artist : artists) {
-            if (!artist.getBestFans().isEmpty()) {
-                ObjectNode node = objectMapper.createObjectNode();
+        for (Artist artist : ranked) {
+            ArtistRevenue revenue = artist.getRevenue();
+            ObjectNode node = objectMapper.createObjectNode();
 
-                node.put("merchRevenue", 0.0);
-                node.put("songRevenue", 0.0);
-                node.put("ranking", count);
-                node.put("mostProfitableSong", "N/A");
+            node.put("merchRevenue", round(revenue.getMerchRevenue()));
+            node.put("songRevenue", round(revenue.getSongRevenue()));
+            node.put("ranking", count);
+            node.put("mostProfitableSong", revenue.getSongRevenue() > 0
+                    ? revenue.getMostProfitableSong() : "N/A");
 
-                output.set(artist.getUsername(), node);
-                count++;
-            }
+            output.set(artist.getUsername(), node);
+            count++;
         }
         return output;
     }
 
+    private static double round(final double value) {
+        return Math.round(value * HUNDRED) / HUNDRED;
+    }
+
 
     /**
      * Add event string.
@@ -605,15 +931,15 @@ public final class Admin {
             return "%s has another event with the same name.".formatted(username);
         }
 
-        String date = commandInput.getDate();
-
-        if (!checkDate(date)) {
+        int date = EventDate.parse(commandInput.getDate());
+        if (date == EventDate.INVALID) {
             return "Event for %s does not have a valid date.".formatted(username);
         }
 
-        currentArtist.getEvents().add(new Event(eventName,
-                commandInput.getDescription(),
-                commandInput.getDate()));
+        Event event = new Event(eventName, username, commandInput.getDescription(), date);
+        currentArtist.addEvent(event);
+        eventCalendar.add(event);
+        notifySubscribers(currentArtist, "New Event");
         return "%s has added new event successfully.".formatted(username);
     }
 
@@ -641,34 +967,27 @@ public final class Admin {
             return "%s doesn't have an event with the given name.".formatted(username);
         }
 
-        currentArtist.getEvents().remove(searchedEvent);
+        currentArtist.removeEvent(searchedEvent);
+        eventCalendar.remove(searchedEvent);
         return "%s deleted the event successfully.".formatted(username);
     }
 
-    private boolean checkDate(final String date) {
-        if (date.length() != dateStringLength) {
-            return false;
-        }
-
-        List<String> dateElements = Arrays.stream(date.split("-", dateFormatSize)).toList();
-
-        if (dateElements.size() != dateFormatSize) {
-            return false;
-        }
-
-        int day = Integer.parseInt(dateElements.get(0));
-        int month = Integer.parseInt(dateElements.get(1));
-        int year = Integer.parseInt(dateElements.get(2));
-
-        if (day < dateDayLowerLimit
-                || (month == 2 && day > dateFebHigherLimit)
-                || day > dateDayHigherLimit
-                || month < dateMonthLowerLimit || month > dateMonthHigherLimit
-                || year < dateYearLowerLimit || year > dateYearHigherLimit) {
-            return false;
+    /**
+     * Gets the events of every artist from a date on.
+     *
+     * @param from the first date, packed as by {@link EventDate}
+     * @param max  the maximum number of events
+     * @return the events, by date
+     */
+    public List<Event> getUpcomingEvents(final int from, final int max) {
+        List<Event> upcoming = new ArrayList<>(max);
+        for (Event event : eventCalendar.tailSet(Event.firstOn(from), true)) {
+            if (upcoming.size() == max) {
+                break;
+            }
+            upcoming.add(event);
         }
-
-        return true;
+        return upcoming;
     }
 
     /**
@@ -688,16 +1007,16 @@ public final class Admin {
         }
 
         Artist currentArtist = (Artist) currentUser;
-        if (currentArtist.getMerch().stream()
-                .anyMatch(merch -> merch.getName().equals(commandInput.getName()))) {
+        if (currentArtist.getMerch(commandInput.getName()) != null) {
             return "%s has merchandise with the same name.".formatted(currentArtist.getUsername());
         } else if (commandInput.getPrice() < 0) {
             return "Price for merchandise can not be negative.";
         }
 
-        currentArtist.getMerch().add(new Merchandise(commandInput.getName(),
-                commandInput.getDescription(),
+        currentArtist.addMerch(new Merchandise(commandInput.getName(),
+                currentArtist.getUsername(), commandInput.getDescription(),
                 commandInput.getPrice()));
+        notifySubscribers(currentArtist, "New Merchandise");
         return "%s has added new merchandise successfully.".formatted(username);
     }
 
@@ -728,6 +1047,8 @@ public final class Admin {
 
         currentHost.getAnnouncements().add(new Announcement(announcementName,
                 announcementDescription));
+        currentHost.invalidatePage();
+        notifySubscribers(currentHost, "New Announcement");
         return "%s has successfully added new announcement.".formatted(username);
     }
 
@@ -756,6 +1077,7 @@ public final class Admin {
         }
 
         currentHost.getAnnouncements().remove(searchAnnouncement);
+        currentHost.invalidatePage();
         return "%s has successfully deleted the announcement.".formatted(username);
     }
 
@@ -782,17 +1104,40 @@ public final class Admin {
             return "%s is offline.".formatted(user.getUsername());
         }
 
-        switch (nextPage) {
-            case "Home" -> user.setCurrentPage(user.getHomePage());
-            case "LikedContent" -> user.setCurrentPage(user.getLikedContentPage());
-            default -> {
-                return "%s is trying to access a non-existent page.".formatted(username);
-            }
+        Page page = switch (nextPage) {
+            case "Home" -> user.getHomePage();
+            case "LikedContent" -> user.getLikedContentPage();
+            case "Artist" -> getPage(getPlayingArtist(user));
+            case "Host" -> getPage(getPlayingHost(user));
+            default -> null;
+        };
+
+        if (page == null) {
+            return "%s is trying to access a non-existent page.".formatted(username);
         }
 
+        user.navigateTo(page);
         return "%s accessed %s successfully.".formatted(username, nextPage);
     }
 
+    private Artist getPlayingArtist(final User user) {
+        if (user.getPlayer().getCurrentAudioFile() instanceof Song song) {
+            return getArtist(song.getArtist());
+        }
+        return null;
+    }
+
+    private Host getPlayingHost(final User user) {
+        if (user.getPlayer().getCurrentAudioCollection() instanceof Podcast podcast) {
+            return getHost(podcast.getOwner());
+        }
+        return null;
+    }
+
+    private static Page getPage(final ContentCreator creator) {
+        return creator == null ? null : creator.getPage();
+    }
+
     /**
      * Print current page string.
      *
@@ -831,7 +1176,7 @@ public final class Admin {
         }
 
         if (currentUser.userType().equals("user")) {
-            ((User) currentUser).switchStatus();
+            switchStatus((User) currentUser);
             return username + " has changed status successfully.";
         } else {
             return username + " is not a normal user.";
@@ -844,7 +1189,27 @@ public final class Admin {
      * @return the online users
      */
     public List<String> getOnlineUsers() {
-        return users.stream().filter(User::isStatus).map(User::getUsername).toList();
+        List<String> names = new ArrayList<>(onlineUsers.size());
+        onlineUsers.values().forEach(user -> names.add(user.getUsername()));
+        return names;
+    }
+
+    /**
+     * Switches a user between online and offline.
+     *
+     * @param user the user
+     */
+    public void switchStatus(final User user) {
+        user.switchStatus();
+        updateOnlineStatus(user);
+    }
+
+    private void updateOnlineStatus(final User user) {
+        if (user.isStatus()) {
+            onlineUsers.put(user.getRegistrationIndex(), user);
+        } else {
+            onlineUsers.remove(user.getRegistrationIndex());
+        }
     }
 
     private Stream<AudioCollection> getAudioCollectionsStream() {
@@ -898,7 +1263,7 @@ public final class Admin {
      * @return the top 5 songs
      */
     public List<String> getTop5Songs() {
-        List<Song> sortedSongs = new ArrayList<>(songs);
+        List<Song> sortedSongs = new ArrayList<>(catalog.getSongs());
         sortedSongs.sort(Comparator.comparingInt(Song::getLikes).reversed());
         List<String> topSongs = new ArrayList<>();
         int count = 0;
@@ -3,12 +3,15 @@ package app;
 import app.audio.Collections.AlbumOutput;
 import app.audio.Collections.PlaylistOutput;
 import app.audio.Collections.PodcastOutput;
+import app.notifications.Notification;
 import app.player.PlayerStats;
 import app.searchBar.Filters;
 import app.user.Artist;
+import app.user.EventDate;
 import app.user.Host;
 import app.user.User;
 import app.user.UserAbstract;
+import app.utils.DeferredEffects;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import fileio.input.CommandInput;
@@ -20,6 +23,7 @@ import java.util.List;
  * The type Command runner.
  */
 public final class CommandRunner {
+    private static final int MAX_UPCOMING_EVENTS = 5;
     /**
      * The Object mapper.
      */
@@ -36,6 +40,80 @@ public final class CommandRunner {
     private CommandRunner() {
     }
 
+    /**
+     * Runs a command.
+     *
+     * @param command the command
+     * @return the output of the command, or null if the command is unknown
+     */
+    public static ObjectNode execute(final CommandInput command) {
+        admin.catchUp(command.getUsername());
+        ObjectNode output = switch (command.getCommand()) {
+            case "search" -> search(command);
+            case "select" -> select(command);
+            case "load" -> load(command);
+            case "playPause" -> playPause(command);
+            case "repeat" -> repeat(command);
+            case "shuffle" -> shuffle(command);
+            case "forward" -> forward(command);
+            case "backward" -> backward(command);
+            case "seek" -> seek(command);
+            case "like" -> like(command);
+            case "next" -> next(command);
+            case "prev" -> prev(command);
+            case "createPlaylist" -> createPlaylist(command);
+            case "addRemoveInPlaylist" -> addRemoveInPlaylist(command);
+            case "switchVisibility" -> switchVisibility(command);
+            case "showPlaylists" -> showPlaylists(command);
+            case "follow" -> follow(command);
+            case "status" -> status(command);
+            case "showPreferredSongs" -> showLikedSongs(command);
+            case "getPreferredGenre" -> getPreferredGenre(command);
+            case "getTop5Songs" -> getTop5Songs(command);
+            case "getTop5Playlists" -> getTop5Playlists(command);
+            case "switchConnectionStatus" -> switchConnectionStatus(command);
+            case "addUser" -> addUser(command);
+            case "deleteUser" -> deleteUser(command);
+            case "addPodcast" -> addPodcast(command);
+            case "removePodcast" -> removePodcast(command);
+            case "addAnnouncement" -> addAnnouncement(command);
+            case "removeAnnouncement" -> removeAnnouncement(command);
+            case "addAlbum" -> addAlbum(command);
+            case "removeAlbum" -> removeAlbum(command);
+            case "addEvent" -> addEvent(command);
+            case "removeEvent" -> removeEvent(command);
+            case "getUpcomingEvents" -> getUpcomingEvents(command);
+            case "addMerch" -> addMerch(command);
+            case "changePage" -> changePage(command);
+            case "printCurrentPage" -> printCurrentPage(command);
+            case "nextPage" -> nextPage(command);
+            case "previousPage" -> previousPage(command);
+            case "getTop5Albums" -> getTop5AlbumList(command);
+            case "getTop5Artists" -> getTop5ArtistList(command);
+            case "getAllUsers" -> getAllUsers(command);
+            case "getOnlineUsers" -> getOnlineUsers(command);
+            case "showAlbums" -> showAlbums(command);
+            case "showPodcasts" -> showPodcasts(command);
+            case "wrapped" -> wrapped(command);
+            case "buyPremium" -> buyPremium(command);
+            case "cancelPremium" -> cancelPremium(command);
+            case "adBreak" -> adBreak(command);
+            case "subscribe" -> subscribe(command);
+            case "getNotifications" -> getNotifications(command);
+            case "buyMerch" -> buyMerch(command);
+            case "seeMerch" -> seeMerch(command);
+            case "updateRecommendations" -> updateRecommendations(command);
+            case "loadRecommendations" -> loadRecommendations(command);
+            default -> {
+                System.out.println("Invalid command " + command.getCommand());
+                yield null;
+            }
+        };
+        Admin current = admin;
+        DeferredEffects.apply(() -> current.schedulePlayback(command.getUsername()));
+        return output;
+    }
+
     /**
      * Search object node.
      *
@@ -199,6 +277,25 @@ public final class CommandRunner {
         return objectNode;
     }
 
+    /**
+     * Seek object node.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode seek(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+        String message = user.seek(commandInput.getOffset());
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        objectNode.put("message", message);
+
+        return objectNode;
+    }
+
     /**
      * Like object node.
      *
@@ -639,6 +736,11 @@ public final class CommandRunner {
         } else if (user.userType().equals("host")) {
             resultNode = ((Host) user).wrapped(commandInput);
         }
+        if (resultNode == null) {
+            objectNode.put("message", "No data to show for %s %s."
+                    .formatted(user.userType(), commandInput.getUsername()));
+            return objectNode;
+        }
         objectNode.put("result", resultNode);
 
         return objectNode;
@@ -744,6 +846,50 @@ public final class CommandRunner {
         return objectNode;
     }
 
+    /**
+     * Next page object node.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode nextPage(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+        String message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
+        if (user != null) {
+            message = user.nextPage();
+        }
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        objectNode.put("message", message);
+
+        return objectNode;
+    }
+
+    /**
+     * Previous page object node.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode previousPage(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+        String message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
+        if (user != null) {
+            message = user.previousPage();
+        }
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        objectNode.put("message", message);
+
+        return objectNode;
+    }
+
     /**
      * Print current page object node.
      *
@@ -826,6 +972,228 @@ public final class CommandRunner {
 
         return objectNode;
     }
+    /**
+     * Buy premium object node.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode buyPremium(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+        String message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
+        if (user != null) {
+            message = user.buyPremium();
+        }
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        objectNode.put("message", message);
+
+        return objectNode;
+    }
+
+    /**
+     * Cancel premium object node.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode cancelPremium(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+        String message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
+        if (user != null) {
+            message = user.cancelPremium();
+        }
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        objectNode.put("message", message);
+
+        return objectNode;
+    }
+
+    /**
+     * Ad break object node.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode adBreak(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+        String message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
+        if (user != null) {
+            message = user.adBreak(commandInput.getPrice());
+        }
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        objectNode.put("message", message);
+
+        return objectNode;
+    }
+
+    /**
+     * Subscribe object node.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode subscribe(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+        String message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
+        if (user != null) {
+            message = user.subscribe();
+        }
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        objectNode.put("message", message);
+
+        return objectNode;
+    }
+
+    /**
+     * Buy merch object node.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode buyMerch(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+        String message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
+        if (user != null) {
+            message = user.buyMerch(commandInput.getName());
+        }
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        objectNode.put("message", message);
+
+        return objectNode;
+    }
+
+    /**
+     * Gets the first events of every artist from a date on.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode getUpcomingEvents(final CommandInput commandInput) {
+        int from = EventDate.parse(commandInput.getDate());
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        if (from == EventDate.INVALID) {
+            objectNode.put("message", "The date %s is not valid."
+                    .formatted(commandInput.getDate()));
+        } else {
+            objectNode.put("result", objectMapper.valueToTree(
+                    admin.getUpcomingEvents(from, MAX_UPCOMING_EVENTS).stream()
+                            .map(event -> "%s - %s - %s".formatted(event.getFormattedDate(),
+                                    event.getOwner(), event.getName()))
+                            .toList()));
+        }
+
+        return objectNode;
+    }
+
+    /**
+     * See merch object node.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode seeMerch(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        if (user == null) {
+            objectNode.put("message", "The username %s doesn't exist."
+                    .formatted(commandInput.getUsername()));
+        } else {
+            objectNode.put("result", objectMapper.valueToTree(user.seeMerch()));
+        }
+
+        return objectNode;
+    }
+
+    /**
+     * Update recommendations object node.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode updateRecommendations(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+        String message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
+        if (user != null) {
+            message = user.updateRecommendations(commandInput.getRecommendationType());
+        }
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        objectNode.put("message", message);
+
+        return objectNode;
+    }
+
+    /**
+     * Load recommendations object node.
+     *
+     * @param commandInput the command input
+     * @return the object node
+     */
+    public static ObjectNode loadRecommendations(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+        String message = "The username %s doesn't exist.".formatted(commandInput.getUsername());
+        if (user != null) {
+            message = user.loadRecommendations();
+        }
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        objectNode.put("message", message);
+
+        return objectNode;
+    }
+
+    /**
+     * Gets notifications.
+     *
+     * @param commandInput the command input
+     * @return the notifications
+     */
+    public static ObjectNode getNotifications(final CommandInput commandInput) {
+        User user = admin.getUser(commandInput.getUsername());
+        List<Notification> notifications = user.getNotifications();
+
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        objectNode.put("command", commandInput.getCommand());
+        objectNode.put("user", commandInput.getUsername());
+        objectNode.put("timestamp", commandInput.getTimestamp());
+        objectNode.put("notifications", objectMapper.valueToTree(notifications));
+
+        return objectNode;
+    }
+
     /**
      * Ends the program and generates an ObjectNode with the result of the program termination.
      *
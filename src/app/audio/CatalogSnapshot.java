@@ -0,0 +1,230 @@
+package app.audio;
+
+import app.audio.Collections.Album;
+import app.audio.Collections.Podcast;
+import app.audio.Files.Song;
+import lombok.Getter;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * An immutable version of the songs, podcasts and albums of the library, in search order.
+ *
+ * <p>A change never touches a published snapshot: it builds the next version, which the
+ * {@link app.Admin} then publishes in one write. Readers, such as searches running while
+ * commands change the library, take the current snapshot and use its lists without copying
+ * them or locking. A change touching several lists, such as adding an album with its songs,
+ * builds a single version, so readers see either all of it or none of it.
+ *
+ * <p>Entries added at the end are written after the last entry of the current version into
+ * spare room of the same array, which no published version reads, so adding costs the added
+ * entries rather than a copy of the list. The next version after an older one, or after a
+ * removal, gets its own array.
+ */
+@Getter
+public final class CatalogSnapshot {
+    /**
+     * The snapshot of an empty library.
+     */
+    public static final CatalogSnapshot EMPTY =
+            new CatalogSnapshot(0, List.of(), List.of(), List.of());
+
+    private final long version;
+    private final List<Song> songs;
+    private final List<Podcast> podcasts;
+    private final List<Album> albums;
+
+    private CatalogSnapshot(final long version, final List<Song> songs,
+                            final List<Podcast> podcasts, final List<Album> albums) {
+        this.version = version;
+        this.songs = songs;
+        this.podcasts = podcasts;
+        this.albums = albums;
+    }
+
+    /**
+     * Gets the next version, with songs added at the end.
+     *
+     * @param added the songs to add
+     * @return the next version
+     */
+    public CatalogSnapshot addSongs(final Collection<Song> added) {
+        return new CatalogSnapshot(version + 1, append(songs, added), podcasts, albums);
+    }
+
+    /**
+     * Gets the next version, with podcasts added at the end.
+     *
+     * @param added the podcasts to add
+     * @return the next version
+     */
+    public CatalogSnapshot addPodcasts(final Collection<Podcast> added) {
+        return new CatalogSnapshot(version + 1, songs, append(podcasts, added), albums);
+    }
+
+    /**
+     * Gets the next version, without some podcasts.
+     *
+     * @param removed the podcasts to remove
+     * @return the next version
+     */
+    public CatalogSnapshot removePodcasts(final Collection<Podcast> removed) {
+        return new CatalogSnapshot(version + 1, songs, without(podcasts, removed), albums);
+    }
+
+    /**
+     * Gets the next version, with albums added at the end.
+     *
+     * @param added the albums to add
+     * @return the next version
+     */
+    public CatalogSnapshot addAlbums(final Collection<Album> added) {
+        return new CatalogSnapshot(version + 1, songs, podcasts, append(albums, added));
+    }
+
+    /**
+     * Gets the next version, with a new album and its songs. The songs go at the end of the
+     * song order; the album goes at the given position of the album order.
+     *
+     * @param addedSongs the songs of the album
+     * @param album      the album
+     * @param position   the position of the album
+     * @return the next version
+     */
+    public CatalogSnapshot addAlbum(final Collection<Song> addedSongs, final Album album,
+                                    final int position) {
+        List<Album> nextAlbums = position == albums.size()
+                ? append(albums, List.of(album)) : insert(albums, position, album);
+        return new CatalogSnapshot(version + 1, append(songs, addedSongs), podcasts,
+                nextAlbums);
+    }
+
+    /**
+     * Gets the next version, without some songs and with the albums replaced, for removing
+     * albums along with their songs.
+     *
+     * @param removed  the songs to remove
+     * @param replaced the albums, in search order
+     * @return the next version
+     */
+    public CatalogSnapshot removeSongs(final Collection<Song> removed,
+                                       final List<Album> replaced) {
+        return new CatalogSnapshot(version + 1, without(songs, removed), podcasts,
+                SharedList.copyOf(replaced, replaced.size()));
+    }
+
+    private static <T> List<T> append(final List<T> entries, final Collection<T> added) {
+        if (added.isEmpty()) {
+            return entries;
+        }
+        if (entries instanceof SharedList<T> shared) {
+            List<T> extended = shared.extend(added);
+            if (extended != null) {
+                return extended;
+            }
+        }
+
+        SharedList<T> copy = SharedList.copyOf(entries, 2 * (entries.size() + added.size()));
+        return copy.extend(added);
+    }
+
+    private static <T> List<T> insert(final List<T> entries, final int position,
+                                      final T entry) {
+        Object[] result = new Object[entries.size() + 1];
+        for (int i = 0; i < position; i++) {
+            result[i] = entries.get(i);
+        }
+        result[position] = entry;
+        for (int i = position; i < entries.size(); i++) {
+            result[i + 1] = entries.get(i);
+        }
+        return new SharedList<>(new Backing(result, result.length), result.length);
+    }
+
+    private static <T> List<T> without(final List<T> entries, final Collection<T> removed) {
+        Set<T> removedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        removedSet.addAll(removed);
+
+        Object[] result = new Object[entries.size()];
+        int size = 0;
+        for (T entry : entries) {
+            if (!removedSet.contains(entry)) {
+                result[size++] = entry;
+            }
+        }
+        return new SharedList<>(new Backing(result, size), size);
+    }
+
+    /**
+     * An array with room to grow, shared by the versions reading a prefix of it. Only the
+     * writer building the next version touches it, past every prefix already published.
+     */
+    private static final class Backing {
+        private final Object[] entries;
+        private int used;
+
+        Backing(final Object[] entries, final int used) {
+            this.entries = entries;
+            this.used = used;
+        }
+    }
+
+    /**
+     * An unmodifiable view of the first entries of a {@link Backing}.
+     */
+    private static final class SharedList<T> extends AbstractList<T> implements RandomAccess {
+        private final Backing backing;
+        private final int size;
+
+        SharedList(final Backing backing, final int size) {
+            this.backing = backing;
+            this.size = size;
+        }
+
+        static <T> SharedList<T> copyOf(final List<T> entries, final int capacity) {
+            Object[] copy = new Object[Math.max(capacity, entries.size())];
+            for (int i = 0; i < entries.size(); i++) {
+                copy[i] = entries.get(i);
+            }
+            return new SharedList<>(new Backing(copy, entries.size()), entries.size());
+        }
+
+        /**
+         * Writes entries after this view in place, if it is the longest view of its array and
+         * they fit.
+         *
+         * @return the longer view, or null if the entries have to go to a new array
+         */
+        List<T> extend(final Collection<T> added) {
+            if (size != backing.used || backing.entries.length - size < added.size()) {
+                return null;
+            }
+
+            int end = size;
+            for (T entry : added) {
+                backing.entries[end++] = entry;
+            }
+            backing.used = end;
+            return new SharedList<>(backing, end);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(final int index) {
+            Objects.checkIndex(index, size);
+            return (T) backing.entries[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
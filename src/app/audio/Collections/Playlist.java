@@ -2,10 +2,15 @@ package app.audio.Collections;
 
 import app.audio.Files.AudioFile;
 import app.audio.Files.Song;
+import app.user.User;
 import app.utils.Enums;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * The type Playlist.
@@ -13,9 +18,14 @@ import java.util.ArrayList;
 @Getter
 public final class Playlist extends AudioCollection {
     private final ArrayList<Song> songs;
+    @Getter(AccessLevel.NONE)
+    private final Set<Song> songIndex;
     private Enums.Visibility visibility;
     private Integer followers;
+    @Getter(AccessLevel.NONE)
+    private Set<User> followedBy;
     private int timestamp;
+    private long searchOrder;
 
     /**
      * Instantiates a new Playlist.
@@ -37,11 +47,34 @@ public final class Playlist extends AudioCollection {
     public Playlist(final String name, final String owner, final int timestamp) {
         super(name, owner);
         this.songs = new ArrayList<>();
+        this.songIndex = new HashSet<>();
         this.visibility = Enums.Visibility.PUBLIC;
         this.followers = 0;
         this.timestamp = timestamp;
     }
 
+    /**
+     * Builds the key ordering playlists the way a full scan over the users would:
+     * by the owner's registration index first, then by position in the owner's list.
+     *
+     * @param ownerIndex the owner's registration index
+     * @param position   the position in the owner's playlist list
+     * @return the order key
+     */
+    public static long orderKey(final int ownerIndex, final int position) {
+        return ((long) ownerIndex << Integer.SIZE) | position;
+    }
+
+    /**
+     * Sets search order.
+     *
+     * @param ownerIndex the owner's registration index
+     * @param position   the position in the owner's playlist list
+     */
+    public void setSearchOrder(final int ownerIndex, final int position) {
+        this.searchOrder = orderKey(ownerIndex, position);
+    }
+
     /**
      * Contains song boolean.
      *
@@ -49,7 +82,7 @@ public final class Playlist extends AudioCollection {
      * @return the boolean
      */
     public boolean containsSong(final Song song) {
-        return songs.contains(song);
+        return songIndex.contains(song);
     }
 
     /**
@@ -58,16 +91,25 @@ public final class Playlist extends AudioCollection {
      * @param song the song
      */
     public void addSong(final Song song) {
-        songs.add(song);
+        if (songIndex.add(song)) {
+            songs.add(song);
+            song.addPlaylist(this);
+            invalidateFollowers();
+        }
     }
 
     /**
-     * Remove song.
+     * Remove song. Membership is checked in constant time, but the songs after it shift down
+     * one place, since playback and output go by position in the order songs were added.
      *
      * @param song the song
      */
     public void removeSong(final Song song) {
-        songs.remove(song);
+        if (songIndex.remove(song)) {
+            songs.remove(song);
+            song.removePlaylist(this);
+            invalidateFollowers();
+        }
     }
 
     /**
@@ -76,7 +118,10 @@ public final class Playlist extends AudioCollection {
      * @param index the index
      */
     public void removeSong(final int index) {
-        songs.remove(index);
+        Song song = songs.remove(index);
+        songIndex.remove(song);
+        song.removePlaylist(this);
+        invalidateFollowers();
     }
 
     /**
@@ -91,19 +136,47 @@ public final class Playlist extends AudioCollection {
     }
 
     /**
-     * Increase followers.
+     * Add follower.
+     *
+     * @param user the user following the playlist
      */
-    public void increaseFollowers() {
+    public void addFollower(final User user) {
+        if (followedBy == null) {
+            followedBy = new HashSet<>();
+        }
+        followedBy.add(user);
         followers++;
     }
 
     /**
-     * Decrease followers.
+     * Remove follower.
+     *
+     * @param user the user unfollowing the playlist
      */
-    public void decreaseFollowers() {
+    public void removeFollower(final User user) {
+        if (followedBy != null) {
+            followedBy.remove(user);
+        }
         followers--;
     }
 
+    /**
+     * Gets the users following the playlist.
+     *
+     * @return the users
+     */
+    public Set<User> getFollowedBy() {
+        return followedBy == null ? Collections.emptySet() : followedBy;
+    }
+
+    /**
+     * Marks the home pages of the followers as changed, since they order the playlist by
+     * the likes of its songs.
+     */
+    public void invalidateFollowers() {
+        getFollowedBy().forEach(User::invalidatePages);
+    }
+
     @Override
     public int getNumberOfTracks() {
         return songs.size();
@@ -138,6 +211,6 @@ public final class Playlist extends AudioCollection {
 
     @Override
     public boolean containsTrack(final AudioFile track) {
-        return songs.contains(track);
+        return songIndex.contains(track);
     }
 }
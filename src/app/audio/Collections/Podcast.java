@@ -2,20 +2,68 @@ package app.audio.Collections;
 
 import app.audio.Files.AudioFile;
 import app.audio.Files.Episode;
+
+import java.util.Arrays;
 import java.util.List;
 
 public final class Podcast extends AudioCollection {
     private final List<Episode> episodes;
+    /**
+     * The position where each episode starts, counted from the start of the podcast, followed
+     * by the duration of the whole podcast.
+     */
+    private final int[] episodeStarts;
 
     public Podcast(final String name, final String owner, final List<Episode> episodes) {
         super(name, owner);
         this.episodes = episodes;
+        this.episodeStarts = new int[episodes.size() + 1];
+        for (int i = 0; i < episodes.size(); i++) {
+            episodeStarts[i + 1] = episodeStarts[i] + episodes.get(i).getDuration();
+        }
     }
 
     public List<Episode> getEpisodes() {
         return episodes;
     }
 
+    /**
+     * Gets the position where an episode starts.
+     *
+     * @param index the episode index
+     * @return the duration of the episodes before it
+     */
+    public int getEpisodeStart(final int index) {
+        return episodeStarts[index];
+    }
+
+    /**
+     * Gets the duration of the whole podcast.
+     *
+     * @return the sum of the episode durations
+     */
+    public int getDuration() {
+        return episodeStarts[episodes.size()];
+    }
+
+    /**
+     * Finds the episode playing at a position, with a binary search over the episode starts.
+     *
+     * @param position the position, from 0 to the podcast duration excluded
+     * @return the episode index
+     */
+    public int findEpisode(final int position) {
+        int found = Arrays.binarySearch(episodeStarts, 0, episodes.size(), position);
+        if (found < 0) {
+            return -found - 2;
+        }
+        // Episodes lasting 0 seconds share their start with the next one.
+        while (found + 1 < episodes.size() && episodeStarts[found + 1] == position) {
+            found++;
+        }
+        return found;
+    }
+
     @Override
     public int getNumberOfTracks() {
         return episodes.size();
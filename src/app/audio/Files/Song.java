@@ -1,15 +1,29 @@
 package app.audio.Files;
 
+import app.audio.Collections.Playlist;
+import app.user.User;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
- * The type Song.
+ * The type Song. Its details are either kept in the object or read from the row of a
+ * {@link SongCatalog}.
+ *
+ * <p>Most songs are never liked or added to a playlist, so the sets of users and playlists
+ * are only allocated for the first one.
  */
 @Getter
 public final class Song extends AudioFile {
+    @Getter(AccessLevel.NONE)
+    private final SongCatalog catalog;
+    @Getter(AccessLevel.NONE)
+    private final int row;
     private final String album;
     private final ArrayList<String> tags;
     private final String lyrics;
@@ -17,6 +31,13 @@ public final class Song extends AudioFile {
     private final Integer releaseYear;
     private final String artist;
     private Integer likes;
+    @Getter(AccessLevel.NONE)
+    private Set<User> likedBy;
+    @Getter(AccessLevel.NONE)
+    private Set<Playlist> playlists;
+    @Getter(AccessLevel.NONE)
+    private String catalogName;
+    private long catalogOrder;
 
     /**
      * Instantiates a new Song.
@@ -34,6 +55,8 @@ public final class Song extends AudioFile {
                 final ArrayList<String> tags, final String lyrics, final String genre,
                 final Integer releaseYear, final String artist) {
         super(name, duration);
+        this.catalog = null;
+        this.row = -1;
         this.album = album;
         this.tags = tags;
         this.lyrics = lyrics;
@@ -43,6 +66,146 @@ public final class Song extends AudioFile {
         this.likes = 0;
     }
 
+    /**
+     * Instantiates a flyweight reading its details from a catalog row.
+     *
+     * @param catalog the catalog
+     * @param row     the row
+     */
+    Song(final SongCatalog catalog, final int row) {
+        super(null, null);
+        this.catalog = catalog;
+        this.row = row;
+        this.album = null;
+        this.tags = null;
+        this.lyrics = null;
+        this.genre = null;
+        this.releaseYear = null;
+        this.artist = null;
+        this.likes = null;
+    }
+
+    @Override
+    public String getName() {
+        if (catalog == null) {
+            return super.getName();
+        }
+        // Names are read for every search and page, so they are only decoded once.
+        if (catalogName == null) {
+            catalogName = catalog.getName(row);
+        }
+        return catalogName;
+    }
+
+    @Override
+    public Integer getDuration() {
+        return catalog == null ? super.getDuration() : catalog.getDuration(row);
+    }
+
+    /**
+     * Gets album.
+     *
+     * @return the album
+     */
+    public String getAlbum() {
+        return catalog == null ? album : catalog.getAlbum(row);
+    }
+
+    /**
+     * Gets tags.
+     *
+     * @return the tags
+     */
+    public ArrayList<String> getTags() {
+        return catalog == null ? tags : catalog.getTags(row);
+    }
+
+    /**
+     * Gets lyrics.
+     *
+     * @return the lyrics
+     */
+    public String getLyrics() {
+        return catalog == null ? lyrics : catalog.getLyrics(row);
+    }
+
+    /**
+     * Gets genre.
+     *
+     * @return the genre
+     */
+    public String getGenre() {
+        return catalog == null ? genre : catalog.getGenre(row);
+    }
+
+    /**
+     * Gets release year.
+     *
+     * @return the release year
+     */
+    public Integer getReleaseYear() {
+        return catalog == null ? releaseYear : catalog.getReleaseYear(row);
+    }
+
+    /**
+     * Gets artist.
+     *
+     * @return the artist
+     */
+    public String getArtist() {
+        return catalog == null ? artist : catalog.getArtist(row);
+    }
+
+    /**
+     * Gets likes.
+     *
+     * @return the likes
+     */
+    public Integer getLikes() {
+        return catalog == null ? likes : catalog.getLikes(row);
+    }
+
+    /**
+     * Gets the users who like the song.
+     *
+     * @return the users
+     */
+    public Set<User> getLikedBy() {
+        return likedBy == null ? Collections.emptySet() : likedBy;
+    }
+
+    /**
+     * Gets the playlists holding the song.
+     *
+     * @return the playlists
+     */
+    public Set<Playlist> getPlaylists() {
+        return playlists == null ? Collections.emptySet() : playlists;
+    }
+
+    /**
+     * Records that a playlist holds the song.
+     *
+     * @param playlist the playlist
+     */
+    public void addPlaylist(final Playlist playlist) {
+        if (playlists == null) {
+            playlists = new HashSet<>();
+        }
+        playlists.add(playlist);
+    }
+
+    /**
+     * Records that a playlist no longer holds the song.
+     *
+     * @param playlist the playlist
+     */
+    public void removePlaylist(final Playlist playlist) {
+        if (playlists != null) {
+            playlists.remove(playlist);
+        }
+    }
+
     @Override
     public boolean matchesAlbum(final String albumName) {
         return this.getAlbum().equalsIgnoreCase(albumName);
@@ -92,17 +255,56 @@ public final class Song extends AudioFile {
         }
     }
 
+    /**
+     * Sets the position of the song in the catalog.
+     *
+     * @param catalogOrder the catalog order
+     */
+    public void setCatalogOrder(final long catalogOrder) {
+        this.catalogOrder = catalogOrder;
+    }
+
     /**
      * Like.
+     *
+     * @param user the user liking the song
      */
-    public void like() {
-        likes++;
+    public void like(final User user) {
+        if (catalog == null) {
+            likes++;
+        } else {
+            catalog.addLikes(row, 1);
+        }
+        invalidateViewers();
+        if (likedBy == null) {
+            likedBy = new HashSet<>();
+        }
+        likedBy.add(user);
+    }
+
+    /**
+     * Marks the home pages showing the song as changed, since they order songs and playlists
+     * by likes: those of the users who like it and of the followers of its playlists.
+     */
+    private void invalidateViewers() {
+        getLikedBy().forEach(User::invalidatePages);
+        getPlaylists().forEach(Playlist::invalidateFollowers);
     }
 
     /**
      * Dislike.
+     *
+     * @param user the user unliking the song
      */
-    public void dislike() {
-        likes--;
+    public void dislike(final User user) {
+        if (catalog == null) {
+            likes--;
+        } else {
+            catalog.addLikes(row, -1);
+        }
+        invalidateViewers();
+        if (likedBy != null) {
+            likedBy.remove(user);
+        }
     }
 }
@@ -0,0 +1,351 @@
+package app.audio.Files;
+
+import fileio.input.SongInput;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Song catalog stored column by column in a memory-mapped file, read through {@link Song}
+ * flyweights that only keep their row.
+ *
+ * <p>The file holds a header, with the number of songs and a checksum of the library songs it
+ * was written from, a dictionary of the repeated strings (albums, genres, artists,
+ * tags), the int columns (duration, release year, likes and dictionary ids), the tag ids with
+ * the offset of each song's first tag, and the UTF-8 names and lyrics with the offset of each
+ * one. The file is mapped privately, so likes change in memory but never in the file.
+ * A single mapping limits the file to 2 GB.
+ *
+ * <p>An existing file is only reused for the library it was written from; a catalog of other
+ * songs, or of an older format, is written again.
+ */
+public final class SongCatalog {
+    private static final int MAGIC = 0x47574331;
+    private static final int VERSION = 2;
+    private static final int HEADER_INTS = 7;
+    private static final int INT_COLUMNS = 6;
+
+    private final int size;
+    private final String[] dictionary;
+    private final IntBuffer durations;
+    private final IntBuffer releaseYears;
+    private final IntBuffer likes;
+    private final IntBuffer albums;
+    private final IntBuffer genres;
+    private final IntBuffer artists;
+    private final IntBuffer tagStarts;
+    private final IntBuffer tags;
+    private final IntBuffer textStarts;
+    private final ByteBuffer text;
+
+    private SongCatalog(final MappedByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a song catalog.");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported song catalog version %d.".formatted(version));
+        }
+        size = buffer.getInt();
+        buffer.getInt();
+        int dictionarySize = buffer.getInt();
+        int tagCount = buffer.getInt();
+        int textSize = buffer.getInt();
+
+        IntBuffer dictionaryStarts = ints(buffer, dictionarySize + 1);
+        ByteBuffer dictionaryText = bytes(buffer, dictionaryStarts.get(dictionarySize));
+        dictionary = new String[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary[i] = decode(dictionaryText, dictionaryStarts.get(i),
+                    dictionaryStarts.get(i + 1));
+        }
+
+        durations = ints(buffer, size);
+        releaseYears = ints(buffer, size);
+        likes = ints(buffer, size);
+        albums = ints(buffer, size);
+        genres = ints(buffer, size);
+        artists = ints(buffer, size);
+        tagStarts = ints(buffer, size + 1);
+        tags = ints(buffer, tagCount);
+        textStarts = ints(buffer, 2 * size + 1);
+        text = bytes(buffer, textSize);
+    }
+
+    /**
+     * Maps the catalog file of the library songs, writing it first if it doesn't exist, or if
+     * it was written from other songs or in an older format.
+     *
+     * @param path  the file
+     * @param songs the library songs, in catalog order
+     * @return the catalog
+     * @throws IOException if the file can't be read or written, or isn't a catalog
+     */
+    public static SongCatalog open(final Path path, final List<SongInput> songs)
+            throws IOException {
+        if (Files.notExists(path) || !isCatalogOf(path, songs)) {
+            write(path, songs);
+        }
+        return map(path);
+    }
+
+    /**
+     * Writes a catalog file, replacing it if it exists.
+     *
+     * @param path  the file
+     * @param songs the songs, in catalog order
+     * @throws IOException if the file can't be written
+     */
+    public static void write(final Path path, final List<SongInput> songs) throws IOException {
+        Map<String, Integer> dictionaryIds = new HashMap<>();
+        List<byte[]> dictionary = new ArrayList<>();
+        List<byte[]> texts = new ArrayList<>();
+        int[][] columns = new int[INT_COLUMNS][songs.size()];
+        int[] tagStarts = new int[songs.size() + 1];
+        List<Integer> tagIds = new ArrayList<>();
+        int dictionarySize = 0;
+        int textSize = 0;
+
+        for (int row = 0; row < songs.size(); row++) {
+            SongInput song = songs.get(row);
+            int column = 0;
+            columns[column++][row] = song.getDuration();
+            columns[column++][row] = song.getReleaseYear();
+            columns[column++][row] = 0;
+            for (String value : new String[] {song.getAlbum(), song.getGenre(),
+                    song.getArtist()}) {
+                columns[column++][row] = intern(value, dictionaryIds, dictionary);
+            }
+
+            tagStarts[row] = tagIds.size();
+            for (String tag : song.getTags()) {
+                tagIds.add(intern(tag, dictionaryIds, dictionary));
+            }
+
+            for (String value : new String[] {song.getName(), song.getLyrics()}) {
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                texts.add(encoded);
+                textSize += encoded.length;
+            }
+        }
+        tagStarts[songs.size()] = tagIds.size();
+        for (byte[] encoded : dictionary) {
+            dictionarySize += encoded.length;
+        }
+
+        long fileSize = Integer.BYTES * ((long) HEADER_INTS + dictionary.size() + 1
+                + (long) INT_COLUMNS * songs.size() + songs.size() + 1 + tagIds.size()
+                + 2L * songs.size() + 1) + dictionarySize + textSize;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("The song catalog doesn't fit in a single mapping.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) fileSize);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(songs.size());
+        buffer.putInt(checksum(songs));
+        buffer.putInt(dictionary.size());
+        buffer.putInt(tagIds.size());
+        buffer.putInt(textSize);
+        putRuns(buffer, dictionary);
+        for (int[] values : columns) {
+            buffer.asIntBuffer().put(values);
+            buffer.position(buffer.position() + values.length * Integer.BYTES);
+        }
+        buffer.asIntBuffer().put(tagStarts);
+        buffer.position(buffer.position() + tagStarts.length * Integer.BYTES);
+        tagIds.forEach(buffer::putInt);
+        putRuns(buffer, texts);
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Checks the header of a catalog file against the library songs.
+     *
+     * @return whether the file is a catalog of the current format written from the songs
+     * @throws IOException if the file can't be read or isn't a catalog
+     */
+    private static boolean isCatalogOf(final Path path, final List<SongInput> songs)
+            throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_INTS * Integer.BYTES);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int read;
+            do {
+                read = channel.read(header);
+            } while (read > 0 && header.hasRemaining());
+        }
+        header.flip();
+        if (header.remaining() < Integer.BYTES || header.getInt() != MAGIC) {
+            throw new IOException("Not a song catalog.");
+        }
+        return header.remaining() >= (HEADER_INTS - 1) * Integer.BYTES
+                && header.getInt() == VERSION
+                && header.getInt() == songs.size()
+                && header.getInt() == checksum(songs);
+    }
+
+    /**
+     * Gets the CRC-32 of every field of the songs, each string preceded by its length.
+     */
+    private static int checksum(final List<SongInput> songs) {
+        CRC32 crc = new CRC32();
+        ByteBuffer number = ByteBuffer.allocate(Integer.BYTES);
+        for (SongInput song : songs) {
+            for (String value : new String[] {song.getName(), song.getAlbum(), song.getLyrics(),
+                    song.getGenre(), song.getArtist()}) {
+                update(crc, number, value);
+            }
+            update(crc, number, song.getDuration());
+            update(crc, number, song.getReleaseYear());
+            update(crc, number, song.getTags().size());
+            for (String tag : song.getTags()) {
+                update(crc, number, tag);
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+    private static void update(final CRC32 crc, final ByteBuffer number, final int value) {
+        number.clear();
+        crc.update(number.putInt(value).flip());
+    }
+
+    private static void update(final CRC32 crc, final ByteBuffer number, final String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        update(crc, number, encoded.length);
+        crc.update(encoded);
+    }
+
+    private static SongCatalog map(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return new SongCatalog(channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Gets the number of songs.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates the flyweights of every song, in catalog order.
+     *
+     * @return the songs
+     */
+    public List<Song> getSongs() {
+        List<Song> songs = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            songs.add(new Song(this, row));
+        }
+        return songs;
+    }
+
+    String getName(final int row) {
+        return decode(text, textStarts.get(2 * row), textStarts.get(2 * row + 1));
+    }
+
+    String getLyrics(final int row) {
+        return decode(text, textStarts.get(2 * row + 1), textStarts.get(2 * row + 2));
+    }
+
+    int getDuration(final int row) {
+        return durations.get(row);
+    }
+
+    int getReleaseYear(final int row) {
+        return releaseYears.get(row);
+    }
+
+    int getLikes(final int row) {
+        return likes.get(row);
+    }
+
+    void addLikes(final int row, final int delta) {
+        likes.put(row, likes.get(row) + delta);
+    }
+
+    String getAlbum(final int row) {
+        return dictionary[albums.get(row)];
+    }
+
+    String getGenre(final int row) {
+        return dictionary[genres.get(row)];
+    }
+
+    String getArtist(final int row) {
+        return dictionary[artists.get(row)];
+    }
+
+    ArrayList<String> getTags(final int row) {
+        int end = tagStarts.get(row + 1);
+        ArrayList<String> songTags = new ArrayList<>(end - tagStarts.get(row));
+        for (int i = tagStarts.get(row); i < end; i++) {
+            songTags.add(dictionary[tags.get(i)]);
+        }
+        return songTags;
+    }
+
+    private static int intern(final String value, final Map<String, Integer> ids,
+                              final List<byte[]> dictionary) {
+        return ids.computeIfAbsent(value, key -> {
+            dictionary.add(key.getBytes(StandardCharsets.UTF_8));
+            return dictionary.size() - 1;
+        });
+    }
+
+    /**
+     * Writes the offsets of the runs, then the runs themselves.
+     */
+    private static void putRuns(final ByteBuffer buffer, final List<byte[]> runs) {
+        int offset = 0;
+        for (byte[] run : runs) {
+            buffer.putInt(offset);
+            offset += run.length;
+        }
+        buffer.putInt(offset);
+        runs.forEach(buffer::put);
+    }
+
+    private static IntBuffer ints(final ByteBuffer buffer, final int count) {
+        IntBuffer ints = buffer.slice(buffer.position(), count * Integer.BYTES).asIntBuffer();
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return ints;
+    }
+
+    private static ByteBuffer bytes(final ByteBuffer buffer, final int count) {
+        ByteBuffer bytes = buffer.slice(buffer.position(), count);
+        buffer.position(buffer.position() + count);
+        return bytes;
+    }
+
+    private static String decode(final ByteBuffer bytes, final int start, final int end) {
+        byte[] encoded = new byte[end - start];
+        bytes.get(start, encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+package app.monetization;
+
+import app.utils.SlotIndex;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * Running revenue totals of an artist, updated on every payout so the end of the
+ * program only has to rank them. Song revenues are kept in a primitive array indexed by the
+ * slot of the song name.
+ */
+@Getter
+public final class ArtistRevenue {
+    private double songRevenue = 0;
+    private double merchRevenue = 0;
+    private String mostProfitableSong = null;
+    private double mostProfitableSongRevenue = 0;
+    @Getter(AccessLevel.NONE)
+    private final SlotIndex<String> songs = new SlotIndex<>();
+    @Getter(AccessLevel.NONE)
+    private double[] songRevenues = new double[songs.capacity()];
+
+    /**
+     * Add song revenue.
+     *
+     * @param songName the song name
+     * @param amount   the amount
+     */
+    public void addSongRevenue(final String songName, final double amount) {
+        songRevenue += amount;
+        int slot = songs.add(songName);
+        if (songRevenues.length < songs.capacity()) {
+            songRevenues = Arrays.copyOf(songRevenues, songs.capacity());
+        }
+        songRevenues[slot] += amount;
+        double total = songRevenues[slot];
+
+        if (mostProfitableSong == null || total > mostProfitableSongRevenue
+                || (total == mostProfitableSongRevenue
+                    && songName.compareTo(mostProfitableSong) < 0)) {
+            mostProfitableSong = songName;
+            mostProfitableSongRevenue = total;
+        }
+    }
+
+    /**
+     * Visits the revenue of every paid song, in the order they were first paid.
+     *
+     * @param visitor the visitor, given each song name and its revenue
+     */
+    public void forEachSongRevenue(final ObjDoubleConsumer<String> visitor) {
+        for (int slot = 0; slot < songs.size(); slot++) {
+            visitor.accept(songs.get(slot), songRevenues[slot]);
+        }
+    }
+
+    /**
+     * Add merch revenue.
+     *
+     * @param amount the amount
+     */
+    public void addMerchRevenue(final double amount) {
+        merchRevenue += amount;
+    }
+
+    /**
+     * Gets total revenue.
+     *
+     * @return the total revenue
+     */
+    public double getTotalRevenue() {
+        return songRevenue + merchRevenue;
+    }
+}
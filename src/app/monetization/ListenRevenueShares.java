@@ -0,0 +1,21 @@
+package app.monetization;
+
+import app.audio.Files.Song;
+import app.statistics.ListenConsumer;
+import app.statistics.ListenEvent;
+
+import java.util.List;
+
+/**
+ * Adds every song listen to the listener's current payout window.
+ */
+public final class ListenRevenueShares implements ListenConsumer {
+    @Override
+    public void consume(final List<ListenEvent> events) {
+        for (ListenEvent event : events) {
+            if (event.getTrack() instanceof Song song) {
+                event.getUser().recordListen(song);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package app.monetization;
+
+import app.Admin;
+import app.audio.Files.Song;
+import app.user.Artist;
+import app.utils.DeferredEffects;
+import app.utils.SlotIndex;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The songs a user listened to since the last payout, counted per song in a primitive array
+ * indexed by the song's slot, in the order they were first listened to.
+ */
+public final class ListeningWindow {
+    private final SlotIndex<Song> songs = new SlotIndex<>();
+    private int[] counts = new int[songs.capacity()];
+    private int total = 0;
+
+    /**
+     * Record a listen.
+     *
+     * @param song the song
+     */
+    public void record(final Song song) {
+        record(song, 1);
+    }
+
+    /**
+     * Record several listens of a song.
+     *
+     * @param song  the song
+     * @param count the number of listens
+     */
+    public void record(final Song song, final int count) {
+        int slot = songs.add(song);
+        if (counts.length < songs.capacity()) {
+            counts = Arrays.copyOf(counts, songs.capacity());
+        }
+        counts[slot] += count;
+        total += count;
+    }
+
+    /**
+     * Gets the number of different songs listened to in this window.
+     *
+     * @return the number of songs
+     */
+    public int size() {
+        return songs.size();
+    }
+
+    /**
+     * Visits the listens of this window, in the order the songs were first listened to.
+     *
+     * @param visitor the visitor, given each song and its listen count
+     */
+    public void forEach(final ObjIntConsumer<Song> visitor) {
+        for (int slot = 0; slot < songs.size(); slot++) {
+            visitor.accept(songs.get(slot), counts[slot]);
+        }
+    }
+
+    /**
+     * Is empty boolean.
+     *
+     * @return whether nothing was listened to in this window
+     */
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    /**
+     * Splits the amount between the listened songs proportionally to their listen count,
+     * credits each share to the song's artist and starts a new window. The credits are
+     * deferred effects, since this runs while simulating the user.
+     *
+     * @param amount the amount to pay out
+     */
+    public void payOut(final double amount) {
+        Admin admin = Admin.getInstance();
+        for (int slot = 0; slot < songs.size(); slot++) {
+            Song song = songs.get(slot);
+            Artist artist = admin.getArtist(song.getArtist());
+            if (artist != null) {
+                String songName = song.getName();
+                double share = amount * counts[slot] / total;
+                DeferredEffects.apply(() -> artist.getRevenue().addSongRevenue(songName, share));
+            }
+        }
+
+        Arrays.fill(counts, 0, songs.size(), 0);
+        songs.clear();
+        total = 0;
+    }
+}
@@ -0,0 +1,87 @@
+package app.notifications;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bounded notification inbox. Once full, every new notification overwrites the oldest one.
+ *
+ * <p>The buffer is only allocated on the first notification and doubles as needed up to the
+ * capacity, so users who receive few notifications keep a small inbox.
+ */
+public final class Inbox {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int CAPACITY = 1024;
+    private static final Notification[] EMPTY = new Notification[0];
+    private Notification[] buffer = EMPTY;
+    private int head = 0;
+    private int size = 0;
+    private long deliveredThrough = 0;
+
+    /**
+     * Add notification.
+     *
+     * @param notification the notification
+     */
+    public void add(final Notification notification) {
+        if (size == buffer.length && buffer.length < CAPACITY) {
+            // The ring only wraps once full at capacity, so the entries start at 0 here.
+            buffer = Arrays.copyOf(buffer, Math.max(INITIAL_CAPACITY, 2 * buffer.length));
+        }
+
+        buffer[(head + size) % buffer.length] = notification;
+        if (size == buffer.length) {
+            head = (head + 1) % buffer.length;
+        } else {
+            size++;
+        }
+    }
+
+    /**
+     * Add a notification published by the {@link NotificationCenter}, unless it was already
+     * delivered here. Publishes are numbered in order, so anything up to the last delivered
+     * number is a repeat.
+     *
+     * @param sequence     the number of the publish
+     * @param notification the notification
+     */
+    void add(final long sequence, final Notification notification) {
+        if (sequence <= deliveredThrough) {
+            return;
+        }
+        deliveredThrough = sequence;
+        add(notification);
+    }
+
+    /**
+     * Gets every notification, oldest first, leaving them in the inbox.
+     *
+     * @return the notifications
+     */
+    public List<Notification> getNotifications() {
+        List<Notification> notifications = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            notifications.add(buffer[(head + i) % buffer.length]);
+        }
+        return notifications;
+    }
+
+    /**
+     * Removes and returns every notification, oldest first.
+     *
+     * @return the notifications
+     */
+    public List<Notification> drain() {
+        List<Notification> notifications = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int position = (head + i) % buffer.length;
+            notifications.add(buffer[position]);
+            buffer[position] = null;
+        }
+
+        head = 0;
+        size = 0;
+        return notifications;
+    }
+}
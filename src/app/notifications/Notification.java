@@ -0,0 +1,24 @@
+package app.notifications;
+
+import lombok.Getter;
+
+/**
+ * A notification published by a content creator. A single instance is shared by the
+ * inboxes of all the subscribers it is delivered to.
+ */
+@Getter
+public final class Notification {
+    private final String name;
+    private final String description;
+
+    /**
+     * Instantiates a new Notification.
+     *
+     * @param name        the name
+     * @param description the description
+     */
+    public Notification(final String name, final String description) {
+        this.name = name;
+        this.description = description;
+    }
+}
@@ -0,0 +1,194 @@
+package app.notifications;
+
+import app.user.ContentCreator;
+import app.user.User;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fans notifications out to the subscribers of a content creator. Small audiences are
+ * served on the spot; larger ones are queued and delivered in batches as time advances,
+ * so a single publish never stalls the command loop. Deliveries keep publish order.
+ *
+ * <p>Publishes are numbered, and the number of the last publish is recorded when a user
+ * subscribes, so a user is in the audience of a queued publish exactly when they are
+ * subscribed since before it. Reading notifications uses this to deliver the reader's
+ * queued notifications without looking through the audiences.
+ */
+public final class NotificationCenter {
+    private static final int IMMEDIATE_FAN_OUT_LIMIT = 1024;
+    private static final int BATCH_SIZE = 4096;
+    private final Deque<FanOut> pending = new ArrayDeque<>();
+    private final Map<User, Map<ContentCreator, Long>> subscribedSince = new HashMap<>();
+    private long sequence = 0;
+
+    /**
+     * Publish a notification to the current subscribers of a content creator.
+     *
+     * @param creator      the creator
+     * @param notification the notification
+     */
+    public void publish(final ContentCreator creator, final Notification notification) {
+        if (creator.getSubscribers().isEmpty()) {
+            return;
+        }
+
+        FanOut fanOut = new FanOut(creator, creator.getSubscribers().toArray(new User[0]),
+                notification, ++sequence);
+        if (pending.isEmpty() && fanOut.subscribers.length <= IMMEDIATE_FAN_OUT_LIMIT) {
+            fanOut.deliver(fanOut.subscribers.length);
+        } else {
+            pending.addLast(fanOut);
+        }
+    }
+
+    /**
+     * Records that a user subscribed to a content creator.
+     *
+     * @param user    the user
+     * @param creator the creator
+     */
+    public void subscribe(final User user, final ContentCreator creator) {
+        subscribedSince.computeIfAbsent(user, key -> new HashMap<>()).put(creator, sequence);
+    }
+
+    /**
+     * Records that a user unsubscribed from a content creator, first delivering the user's
+     * queued notifications, which may include some from the creator.
+     *
+     * @param user    the user
+     * @param creator the creator
+     */
+    public void unsubscribe(final User user, final ContentCreator creator) {
+        flush(user);
+        Map<ContentCreator, Long> since = subscribedSince.get(user);
+        if (since != null) {
+            since.remove(creator);
+        }
+    }
+
+    /**
+     * Records that a content creator was deleted. Its queued notifications are still
+     * delivered to the audience they were published to.
+     *
+     * @param creator the creator
+     */
+    public void removeCreator(final ContentCreator creator) {
+        for (FanOut fanOut : pending) {
+            if (fanOut.creator == creator) {
+                fanOut.keepAudience();
+            }
+        }
+        for (User user : creator.getSubscribers()) {
+            Map<ContentCreator, Long> since = subscribedSince.get(user);
+            if (since != null) {
+                since.remove(creator);
+            }
+        }
+    }
+
+    /**
+     * Records that a user was deleted.
+     *
+     * @param user the user
+     */
+    public void removeUser(final User user) {
+        subscribedSince.remove(user);
+    }
+
+    /**
+     * Delivers the next batch of queued notifications.
+     */
+    public void deliverBatch() {
+        int budget = BATCH_SIZE;
+        while (budget > 0 && !pending.isEmpty()) {
+            FanOut fanOut = pending.peekFirst();
+            budget -= fanOut.deliver(budget);
+            if (fanOut.isDone()) {
+                pending.pollFirst();
+            }
+        }
+    }
+
+    /**
+     * Delivers every queued notification.
+     */
+    public void flush() {
+        while (!pending.isEmpty()) {
+            FanOut fanOut = pending.pollFirst();
+            fanOut.deliver(fanOut.subscribers.length);
+        }
+    }
+
+    /**
+     * Delivers the queued notifications of one user, ahead of the batches, so a user reading
+     * their notifications doesn't wait for, or trigger, the delivery to everyone else. The
+     * inbox skips them when the batches reach the user later.
+     *
+     * @param user the user
+     */
+    public void flush(final User user) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<ContentCreator, Long> since = subscribedSince.getOrDefault(user, Map.of());
+        for (FanOut fanOut : pending) {
+            if (fanOut.reaches(user, since)) {
+                user.getInbox().add(fanOut.sequence, fanOut.notification);
+            }
+        }
+    }
+
+    private static final class FanOut {
+        private final ContentCreator creator;
+        private final User[] subscribers;
+        private final Notification notification;
+        private final long sequence;
+        private Set<User> audience;
+        private int next = 0;
+
+        FanOut(final ContentCreator creator, final User[] subscribers,
+               final Notification notification, final long sequence) {
+            this.creator = creator;
+            this.subscribers = subscribers;
+            this.notification = notification;
+            this.sequence = sequence;
+        }
+
+        int deliver(final int budget) {
+            int end = Math.min(subscribers.length, next + budget);
+            int delivered = end - next;
+            for (; next < end; next++) {
+                subscribers[next].getInbox().add(sequence, notification);
+            }
+            return delivered;
+        }
+
+        boolean isDone() {
+            return next == subscribers.length;
+        }
+
+        /**
+         * Keeps the audience once the subscriptions it was taken from are gone.
+         */
+        void keepAudience() {
+            audience = Collections.newSetFromMap(new IdentityHashMap<>(subscribers.length));
+            Collections.addAll(audience, subscribers);
+        }
+
+        boolean reaches(final User user, final Map<ContentCreator, Long> since) {
+            if (audience != null) {
+                return audience.contains(user);
+            }
+            Long subscribed = since.get(creator);
+            return subscribed != null && subscribed < sequence;
+        }
+    }
+}
@@ -2,18 +2,22 @@ package app.pages;
 
 import app.audio.Collections.Album;
 import app.user.Artist;
+import app.user.ContentCreator;
 import app.user.Event;
 import app.user.Merchandise;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * The type Artist page.
  */
 public final class ArtistPage implements Page {
+    private final Artist artist;
     private List<Album> albums;
-    private List<Merchandise> merch;
-    private List<Event> events;
+    private Collection<Merchandise> merch;
+    private Collection<Event> events;
+    private final RenderCache cache = new RenderCache();
 
     /**
      * Instantiates a new Artist page.
@@ -21,13 +25,23 @@ public final class ArtistPage implements Page {
      * @param artist the artist
      */
     public ArtistPage(final Artist artist) {
+        this.artist = artist;
         albums = artist.getAlbums();
         merch = artist.getMerch();
         events = artist.getEvents();
     }
 
+    @Override
+    public ContentCreator getContentCreator() {
+        return artist;
+    }
+
     @Override
     public String printCurrentPage() {
+        return cache.get(artist.getPageVersion(), this::render);
+    }
+
+    private String render() {
         return "Albums:\n\t%s\n\nMerch:\n\t%s\n\nEvents:\n\t%s"
                 .formatted(albums.stream().map(Album::getName).toList(),
                            merch.stream().map(merchItem -> "%s - %d:\n\t%s"
@@ -37,7 +51,7 @@ public final class ArtistPage implements Page {
                                 .toList(),
                            events.stream().map(event -> "%s - %s:\n\t%s"
                                  .formatted(event.getName(),
-                                            event.getDate(),
+                                            event.getFormattedDate(),
                                             event.getDescription()))
                                  .toList());
     }
@@ -6,13 +6,18 @@ import app.user.User;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 
 /**
  * The type Home page.
  */
 public final class HomePage implements Page {
-    private List<Song> likedSongs;
-    private List<Playlist> followedPlaylists;
+    private Set<Song> likedSongs;
+    private Set<Playlist> followedPlaylists;
+    private List<Song> songRecommendations;
+    private List<Playlist> playlistRecommendations;
+    private final User user;
+    private final RenderCache cache = new RenderCache();
     private final int limit = 5;
 
     /**
@@ -21,13 +26,23 @@ public final class HomePage implements Page {
      * @param user the user
      */
     public HomePage(final User user) {
+        this.user = user;
         likedSongs = user.getLikedSongs();
         followedPlaylists = user.getFollowedPlaylists();
+        songRecommendations = user.getSongRecommendations();
+        playlistRecommendations = user.getPlaylistRecommendations();
     }
 
     @Override
     public String printCurrentPage() {
-        return "Liked songs:\n\t%s\n\nFollowed playlists:\n\t%s"
+        // Likes of the shown songs and edits of the followed playlists change the version
+        // too, through the songs' likers and the playlists' followers.
+        return cache.get(user.getPageVersion(), this::render);
+    }
+
+    private String render() {
+        return ("Liked songs:\n\t%s\n\nFollowed playlists:\n\t%s\n\n"
+                + "Song recommendations:\n\t%s\n\nPlaylists recommendations:\n\t%s")
                .formatted(likedSongs.stream()
                                     .sorted(Comparator.comparing(Song::getLikes)
                                     .reversed()).limit(limit).map(Song::getName)
@@ -37,6 +52,8 @@ public final class HomePage implements Page {
                                     .reduce(Integer::sum).orElse(0)
                                   - o1.getSongs().stream().map(Song::getLikes).reduce(Integer::sum)
                                   .orElse(0)).limit(limit).map(Playlist::getName)
-                          .toList());
+                          .toList(),
+                          songRecommendations.stream().map(Song::getName).toList(),
+                          playlistRecommendations.stream().map(Playlist::getName).toList());
     }
 }
@@ -2,6 +2,7 @@ package app.pages;
 
 import app.audio.Collections.Podcast;
 import app.user.Announcement;
+import app.user.ContentCreator;
 import app.user.Host;
 
 import java.util.List;
@@ -10,8 +11,10 @@ import java.util.List;
  * The type Host page.
  */
 public final class HostPage implements Page {
+    private final Host host;
     private List<Podcast> podcasts;
     private List<Announcement> announcements;
+    private final RenderCache cache = new RenderCache();
 
     /**
      * Instantiates a new Host page.
@@ -19,12 +22,22 @@ public final class HostPage implements Page {
      * @param host the host
      */
     public HostPage(final Host host) {
+        this.host = host;
         podcasts = host.getPodcasts();
         announcements = host.getAnnouncements();
     }
 
+    @Override
+    public ContentCreator getContentCreator() {
+        return host;
+    }
+
     @Override
     public String printCurrentPage() {
+        return cache.get(host.getPageVersion(), this::render);
+    }
+
+    private String render() {
         return "Podcasts:\n\t%s\n\nAnnouncements:\n\t%s"
                .formatted(podcasts.stream().map(podcast -> "%s:\n\t%s\n"
                           .formatted(podcast.getName(),
@@ -4,7 +4,7 @@ import app.audio.Collections.Playlist;
 import app.audio.Files.Song;
 import app.user.User;
 
-import java.util.List;
+import java.util.Set;
 
 /**
  * The type Liked content page.
@@ -13,11 +13,13 @@ public final class LikedContentPage implements Page {
     /**
      * The Liked songs.
      */
-    private List<Song> likedSongs;
+    private Set<Song> likedSongs;
     /**
      * The Followed playlists.
      */
-    private List<Playlist> followedPlaylists;
+    private Set<Playlist> followedPlaylists;
+    private final User user;
+    private final RenderCache cache = new RenderCache();
 
     /**
      * Instantiates a new Liked content page.
@@ -25,12 +27,17 @@ public final class LikedContentPage implements Page {
      * @param user the user
      */
     public LikedContentPage(final User user) {
+        this.user = user;
         likedSongs = user.getLikedSongs();
         followedPlaylists = user.getFollowedPlaylists();
     }
 
     @Override
     public String printCurrentPage() {
+        return cache.get(user.getPageVersion(), this::render);
+    }
+
+    private String render() {
         return "Liked songs:\n\t%s\n\nFollowed playlists:\n\t%s"
                .formatted(likedSongs.stream().map(song -> "%s - %s"
                           .formatted(song.getName(), song.getArtist())).toList(),
@@ -1,5 +1,7 @@
 package app.pages;
 
+import app.user.ContentCreator;
+
 /**
  * The interface Page.
  */
@@ -10,4 +12,13 @@ public interface Page {
      * @return the current page string
      */
     String printCurrentPage();
+
+    /**
+     * Gets the content creator owning the page.
+     *
+     * @return the content creator, or null if the page doesn't belong to one
+     */
+    default ContentCreator getContentCreator() {
+        return null;
+    }
 }
@@ -0,0 +1,121 @@
+package app.pages;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Bounded back and forward stacks of the pages a user navigated through.
+ * When a stack is full, its oldest page is dropped.
+ *
+ * <p>Pages of deleted content creators are skipped as they are reached rather than removed
+ * from every history when the creator is deleted, and a full stack drops them before
+ * dropping a live page, so the history behaves as if they had been removed at once.
+ */
+public final class PageHistory {
+    private static final int CAPACITY = 64;
+    private final Deque<Page> back = new ArrayDeque<>();
+    private final Deque<Page> forward = new ArrayDeque<>();
+
+    /**
+     * Records leaving a page for a newly visited one, discarding the forward history.
+     *
+     * @param from the page being left
+     */
+    public void visit(final Page from) {
+        push(back, from);
+        forward.clear();
+    }
+
+    /**
+     * Goes back one page.
+     *
+     * @param current the current page
+     * @return the previous page, or null if there is none
+     */
+    public Page back(final Page current) {
+        Page previous = pollLive(back);
+        if (previous != null) {
+            push(forward, current);
+        }
+        return previous;
+    }
+
+    /**
+     * Goes forward one page.
+     *
+     * @param current the current page
+     * @return the next page, or null if there is none
+     */
+    public Page forward(final Page current) {
+        Page next = pollLive(forward);
+        if (next != null) {
+            push(back, current);
+        }
+        return next;
+    }
+
+    /**
+     * Gets the pages to go back to.
+     *
+     * @return the pages, most recent first
+     */
+    public List<Page> getBack() {
+        return live(back);
+    }
+
+    /**
+     * Gets the pages to go forward to.
+     *
+     * @return the pages, most recent first
+     */
+    public List<Page> getForward() {
+        return live(forward);
+    }
+
+    /**
+     * Restores a saved history.
+     *
+     * @param backPages    the pages to go back to, most recent first
+     * @param forwardPages the pages to go forward to, most recent first
+     */
+    public void restore(final List<Page> backPages, final List<Page> forwardPages) {
+        back.clear();
+        back.addAll(backPages);
+        forward.clear();
+        forward.addAll(forwardPages);
+    }
+
+    private static void push(final Deque<Page> stack, final Page page) {
+        if (stack.size() == CAPACITY) {
+            stack.removeIf(PageHistory::isRemoved);
+        }
+        if (stack.size() == CAPACITY) {
+            stack.removeLast();
+        }
+        stack.addFirst(page);
+    }
+
+    private static Page pollLive(final Deque<Page> stack) {
+        Page page = stack.pollFirst();
+        while (page != null && isRemoved(page)) {
+            page = stack.pollFirst();
+        }
+        return page;
+    }
+
+    private static List<Page> live(final Deque<Page> stack) {
+        List<Page> pages = new ArrayList<>(stack.size());
+        for (Page page : stack) {
+            if (!isRemoved(page)) {
+                pages.add(page);
+            }
+        }
+        return pages;
+    }
+
+    private static boolean isRemoved(final Page page) {
+        return page.getContentCreator() != null && page.getContentCreator().isDeleted();
+    }
+}
@@ -0,0 +1,26 @@
+package app.pages;
+
+import java.util.function.Supplier;
+
+/**
+ * The last rendering of a page, reused while the version it was rendered from is unchanged.
+ */
+final class RenderCache {
+    private Object version;
+    private String rendered;
+
+    /**
+     * Gets the rendering for the given version, rendering the page again if it changed.
+     *
+     * @param currentVersion the current version of the page's content
+     * @param render         renders the page
+     * @return the rendered page
+     */
+    String get(final Object currentVersion, final Supplier<String> render) {
+        if (rendered == null || !currentVersion.equals(version)) {
+            rendered = render.get();
+            version = currentVersion;
+        }
+        return rendered;
+    }
+}
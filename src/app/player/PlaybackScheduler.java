@@ -0,0 +1,132 @@
+package app.player;
+
+import app.user.User;
+import app.utils.DeferredEffects;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Advances the users' players only when something observable happens to them.
+ *
+ * <p>Between two track boundaries a player only counts its remaining duration down, so each
+ * user is simulated lazily: a min-heap holds the time of each user's next boundary (or next
+ * album listen to account), and advancing the clock only simulates the users popped from it,
+ * in registration order, as simulating every user did. The others are caught up when one of
+ * their commands runs or before a snapshot. Rescheduling leaves the older heap entry in place;
+ * it is recognized as stale when popped, and the heap is rebuilt once stale entries dominate.
+ *
+ * <p>With more than one thread, the due users are simulated in parallel on a fork-join pool.
+ * Each user's changes to shared state are captured as {@link DeferredEffects} and applied
+ * afterwards in registration order, so the results match the serial simulation exactly.
+ */
+public final class PlaybackScheduler {
+    private static final int MIN_REBUILD_SIZE = 64;
+    private static final int MIN_PARALLEL_USERS = 16;
+    private static ForkJoinPool pool;
+
+    private final PriorityQueue<Entry> events =
+            new PriorityQueue<>(Comparator.comparingInt(Entry::getTimestamp));
+    private final Map<User, Integer> scheduled = new IdentityHashMap<>();
+
+    /**
+     * Sets the number of threads simulating the due users.
+     *
+     * @param parallelism the number of threads, 1 to simulate them on the calling thread
+     */
+    public static void setParallelism(final int parallelism) {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    /**
+     * Schedules the next event of a user, replacing the previous one.
+     *
+     * @param user      the user, simulated up to now
+     * @param timestamp the current timestamp
+     */
+    public void schedule(final User user, final int timestamp) {
+        int delay = user.getTimeToNextEvent();
+        if (delay == User.NO_EVENT) {
+            scheduled.remove(user);
+            return;
+        }
+
+        int eventTimestamp = timestamp + delay;
+        Integer previous = scheduled.put(user, eventTimestamp);
+        if (previous == null || previous != eventTimestamp) {
+            events.add(new Entry(eventTimestamp, user));
+            if (events.size() > Math.max(MIN_REBUILD_SIZE, 2 * scheduled.size())) {
+                rebuild();
+            }
+        }
+    }
+
+    /**
+     * Forgets a user, once deleted.
+     *
+     * @param user the user
+     */
+    public void remove(final User user) {
+        scheduled.remove(user);
+    }
+
+    /**
+     * Simulates the users whose next event falls up to a new timestamp and schedules their
+     * following one.
+     *
+     * @param timestamp the new timestamp
+     */
+    public void advance(final int timestamp) {
+        List<User> due = new ArrayList<>();
+        while (!events.isEmpty() && events.peek().getTimestamp() <= timestamp) {
+            Entry entry = events.poll();
+            Integer current = scheduled.get(entry.getUser());
+            if (current != null && current == entry.getTimestamp()) {
+                scheduled.remove(entry.getUser());
+                due.add(entry.getUser());
+            }
+        }
+
+        due.sort(Comparator.comparingInt(User::getRegistrationIndex));
+        if (pool == null || due.size() < MIN_PARALLEL_USERS) {
+            due.forEach(user -> user.catchUp(timestamp));
+        } else {
+            List<List<Runnable>> effects = pool.submit(() -> due.parallelStream()
+                    .map(user -> DeferredEffects.capture(() -> user.catchUp(timestamp)))
+                    .toList()).join();
+            effects.forEach(userEffects -> userEffects.forEach(Runnable::run));
+        }
+        due.forEach(user -> schedule(user, timestamp));
+    }
+
+    private void rebuild() {
+        events.clear();
+        scheduled.forEach((user, eventTimestamp) -> events.add(new Entry(eventTimestamp, user)));
+    }
+
+    private static final class Entry {
+        private final int timestamp;
+        private final User user;
+
+        Entry(final int timestamp, final User user) {
+            this.timestamp = timestamp;
+            this.user = user;
+        }
+
+        int getTimestamp() {
+            return timestamp;
+        }
+
+        User getUser() {
+            return user;
+        }
+    }
+}
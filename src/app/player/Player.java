@@ -5,14 +5,17 @@ import app.audio.Files.AudioFile;
 import app.audio.LibraryEntry;
 import app.utils.Enums;
 import lombok.Getter;
+import lombok.Setter;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
  * The type Player.
  */
 public final class Player {
+    private static int bookmarkLimit = PodcastBookmarks.UNLIMITED;
+
     private Enums.RepeatMode repeatMode;
     private boolean shuffle;
     private boolean paused;
@@ -21,8 +24,19 @@ public final class Player {
     @Getter
     private String type;
     private final int skipTime = 90;
+    private final int adDuration = 10;
+    @Getter
+    private boolean adPending;
+    @Getter
+    private int adPrice;
+    @Getter
+    private int adRemainedDuration;
+    @Setter
+    private IntConsumer adBreakListener;
+    @Setter
+    private Consumer<AudioFile> trackListener;
 
-    private ArrayList<PodcastBookmark> bookmarks = new ArrayList<>();
+    private final PodcastBookmarks bookmarks = new PodcastBookmarks(bookmarkLimit);
 
 
     /**
@@ -33,6 +47,17 @@ public final class Player {
         this.paused = true;
     }
 
+    /**
+     * Sets the number of podcasts whose bookmarks each player created afterwards keeps,
+     * dropping the least recently used ones beyond it.
+     *
+     * @param limit the limit, or {@link PodcastBookmarks#UNLIMITED}
+     * @throws IllegalArgumentException if the limit is neither positive nor unlimited
+     */
+    public static void setBookmarkLimit(final int limit) {
+        bookmarkLimit = PodcastBookmarks.checkLimit(limit);
+    }
+
     /**
      * Stop.
      */
@@ -48,12 +73,7 @@ public final class Player {
 
     private void bookmarkPodcast() {
         if (source != null && source.getAudioFile() != null) {
-            PodcastBookmark currentBookmark =
-                    new PodcastBookmark(source.getAudioCollection().getName(),
-                            source.getIndex(),
-                            source.getDuration());
-            bookmarks.removeIf(bookmark -> bookmark.getName().equals(currentBookmark.getName()));
-            bookmarks.add(currentBookmark);
+            bookmarks.put(source.getAudioCollection(), source.getIndex(), source.getDuration());
         }
     }
 
@@ -67,7 +87,7 @@ public final class Player {
      */
     public static PlayerSource createSource(final String type,
                                             final LibraryEntry entry,
-                                            final List<PodcastBookmark> bookmarks) {
+                                            final PodcastBookmarks bookmarks) {
         if ("song".equals(type)) {
             return new PlayerSource(Enums.PlayerSourceType.LIBRARY, (AudioFile) entry);
         } else if ("playlist".equals(type)) {
@@ -82,13 +102,13 @@ public final class Player {
     }
 
     private static PlayerSource createPodcastSource(final AudioCollection collection,
-                                                    final List<PodcastBookmark> bookmarks) {
-        for (PodcastBookmark bookmark : bookmarks) {
-            if (bookmark.getName().equals(collection.getName())) {
-                return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection, bookmark);
-            }
+                                                    final PodcastBookmarks bookmarks) {
+        int slot = bookmarks.find(collection);
+        if (slot < 0) {
+            return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection);
         }
-        return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection);
+        return new PlayerSource(Enums.PlayerSourceType.PODCAST, collection,
+                bookmarks.getEpisode(slot), bookmarks.getRemainedDuration(slot));
     }
 
     /**
@@ -104,11 +124,63 @@ public final class Player {
 
         this.type = sourceType;
         this.source = createSource(sourceType, entry, bookmarks);
+        this.adRemainedDuration = 0;
+        this.adPending = false;
         this.repeatMode = Enums.RepeatMode.NO_REPEAT;
         this.shuffle = false;
         this.paused = true;
     }
 
+    /**
+     * Restores a saved player state.
+     *
+     * @param sourceType     the type of the loaded source, or null if nothing was loaded
+     * @param restoredSource the loaded source, or null if nothing was loaded
+     * @param mode           the repeat mode
+     * @param shuffled       whether shuffle is on
+     * @param isPaused       whether playback is paused
+     */
+    public void restore(final String sourceType, final PlayerSource restoredSource,
+                        final Enums.RepeatMode mode, final boolean shuffled,
+                        final boolean isPaused) {
+        this.type = sourceType;
+        this.source = restoredSource;
+        this.repeatMode = mode;
+        this.shuffle = shuffled;
+        this.paused = isPaused;
+    }
+
+    /**
+     * Restores a saved ad break.
+     *
+     * @param pending   whether an ad plays after the current track
+     * @param price     the price paid for the ad
+     * @param remaining the remaining duration of the playing ad
+     */
+    public void restoreAd(final boolean pending, final int price, final int remaining) {
+        this.adPending = pending;
+        this.adPrice = price;
+        this.adRemainedDuration = remaining;
+    }
+
+    /**
+     * Gets bookmarks.
+     *
+     * @return the saved podcast positions
+     */
+    public PodcastBookmarks getBookmarks() {
+        return bookmarks;
+    }
+
+    /**
+     * Gets repeat mode.
+     *
+     * @return the repeat mode
+     */
+    public Enums.RepeatMode getRepeatMode() {
+        return repeatMode;
+    }
+
     /**
      * Pause.
      */
@@ -170,19 +242,65 @@ public final class Player {
     public void simulatePlayer(final int time) {
         int elapsedTime = time;
         if (!paused) {
-            while (elapsedTime >= source.getDuration()) {
-                elapsedTime -= source.getDuration();
-                next();
+            while (elapsedTime >= remainedDuration()) {
+                elapsedTime -= remainedDuration();
+                if (adRemainedDuration > 0) {
+                    adRemainedDuration = 0;
+                    next();
+                } else if (adPending) {
+                    playAd();
+                    continue;
+                } else {
+                    next();
+                }
                 if (paused) {
                     break;
                 }
             }
             if (!paused) {
-                source.skip(-elapsedTime);
+                if (adRemainedDuration > 0) {
+                    adRemainedDuration -= elapsedTime;
+                } else {
+                    source.skip(-elapsedTime);
+                }
             }
         }
     }
 
+    /**
+     * Gets the time until the playing track or ad ends.
+     *
+     * @return the time, or -1 if nothing plays
+     */
+    public int getTimeToNextTrack() {
+        if (paused || source == null) {
+            return -1;
+        }
+        return remainedDuration();
+    }
+
+    private int remainedDuration() {
+        return adRemainedDuration > 0 ? adRemainedDuration : source.getDuration();
+    }
+
+    /**
+     * Schedules an ad break after the current track ends.
+     *
+     * @param price the price paid for the ad
+     */
+    public void insertAd(final int price) {
+        adPending = true;
+        adPrice = price;
+    }
+
+    private void playAd() {
+        adPending = false;
+        adRemainedDuration = adDuration;
+        if (adBreakListener != null) {
+            adBreakListener.accept(adPrice);
+        }
+    }
+
     /**
      * Next.
      */
@@ -194,6 +312,8 @@ public final class Player {
 
         if (source.getDuration() == 0 && paused) {
             stop();
+        } else if (!paused && trackListener != null) {
+            trackListener.accept(source.getAudioFile());
         }
     }
 
@@ -228,6 +348,19 @@ public final class Player {
         }
     }
 
+    /**
+     * Seeks through the loaded podcast and bookmarks the new position.
+     *
+     * @param offset the seconds to move forward, or backward if negative
+     */
+    public void seek(final int offset) {
+        if (source.getType() == Enums.PlayerSourceType.PODCAST) {
+            source.seek(offset);
+            bookmarkPodcast();
+            paused = false;
+        }
+    }
+
     /**
      * Gets current audio file.
      *
@@ -240,6 +373,16 @@ public final class Player {
         return source.getAudioFile();
     }
 
+    /**
+     * Checks whether a track is loaded and playing: not paused, and not stopped by a search.
+     *
+     * @return whether the player is playing
+     */
+    public boolean isPlaying() {
+        return source != null && source.getAudioFile() != null && !paused
+                && source.getDuration() > 0;
+    }
+
     /**
      * Gets current audio collection.
      *
@@ -278,7 +421,10 @@ public final class Player {
     public PlayerStats getStats() {
         String filename = "";
         int duration = 0;
-        if (source != null && source.getAudioFile() != null) {
+        if (adRemainedDuration > 0) {
+            filename = "Ad Break";
+            duration = adRemainedDuration;
+        } else if (source != null && source.getAudioFile() != null) {
             filename = source.getAudioFile().getName();
             duration = source.getDuration();
         } else {
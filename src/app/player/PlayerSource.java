@@ -1,13 +1,12 @@
 package app.player;
 
 import app.audio.Collections.AudioCollection;
+import app.audio.Collections.Podcast;
 import app.audio.Files.AudioFile;
 import app.utils.Enums;
 import lombok.Getter;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Random;
 
 /**
@@ -22,9 +21,21 @@ public class PlayerSource {
     private AudioFile audioFile;
     @Getter
     private int index;
+    @Getter
     private int indexShuffled;
     private int remainedDuration;
-    private final List<Integer> indices = new ArrayList<>();
+    @Getter
+    private int accountedIndex = -1;
+    /**
+     * The track indices in shuffled play order; only the first shuffleSize are in use, so the
+     * arrays are kept across reshuffles of collections that aren't larger.
+     */
+    private int[] shuffleOrder = new int[0];
+    /**
+     * The inverse of shuffleOrder: the position of each track in the shuffled play order.
+     */
+    private int[] shufflePositions = new int[0];
+    private int shuffleSize;
 
     /**
      * Instantiates a new Player source.
@@ -58,15 +69,16 @@ public class PlayerSource {
      *
      * @param type            the type
      * @param audioCollection the audio collection
-     * @param bookmark        the bookmark
+     * @param episode         the index of the bookmarked episode
+     * @param remainedTime    the remaining duration of the bookmarked episode
      */
     public PlayerSource(final Enums.PlayerSourceType type,
                         final AudioCollection audioCollection,
-                        final PodcastBookmark bookmark) {
+                        final int episode, final int remainedTime) {
         this.type = type;
         this.audioCollection = audioCollection;
-        this.index = bookmark.getId();
-        this.remainedDuration = bookmark.getTimestamp();
+        this.index = episode;
+        this.remainedDuration = remainedTime;
         this.audioFile = audioCollection.getTrackByIndex(index);
     }
 
@@ -104,13 +116,13 @@ public class PlayerSource {
                 remainedDuration = audioFile.getDuration();
             } else if (repeatMode == Enums.RepeatMode.NO_REPEAT) {
                 if (shuffle) {
-                    if (indexShuffled == indices.size() - 1) {
+                    if (indexShuffled == shuffleSize - 1) {
                         remainedDuration = 0;
                         isPaused = true;
                     } else {
                         indexShuffled++;
 
-                        index = indices.get(indexShuffled);
+                        index = shuffleOrder[indexShuffled];
                         updateAudioFile();
                         remainedDuration = audioFile.getDuration();
                     }
@@ -126,8 +138,8 @@ public class PlayerSource {
                 }
             } else if (repeatMode == Enums.RepeatMode.REPEAT_ALL) {
                 if (shuffle) {
-                    indexShuffled = (indexShuffled + 1) % indices.size();
-                    index = indices.get(indexShuffled);
+                    indexShuffled = (indexShuffled + 1) % shuffleSize;
+                    index = shuffleOrder[indexShuffled];
                 } else {
                     index = (index + 1) % audioCollection.getNumberOfTracks();
                 }
@@ -155,7 +167,7 @@ public class PlayerSource {
                     if (indexShuffled > 0) {
                         indexShuffled--;
                     }
-                    index = indices.get(indexShuffled);
+                    index = shuffleOrder[indexShuffled];
                     updateAudioFile();
                     remainedDuration = audioFile.getDuration();
                 } else {
@@ -169,34 +181,102 @@ public class PlayerSource {
         }
     }
 
+    /**
+     * Gets the shuffle order.
+     *
+     * @return the track indices in shuffled play order, empty if never shuffled
+     */
+    public int[] getShuffleOrder() {
+        return Arrays.copyOf(shuffleOrder, shuffleSize);
+    }
+
+    /**
+     * Restores a saved playback position.
+     *
+     * @param trackIndex         the index of the current track
+     * @param shuffledIndex      the position of the current track in the shuffle order
+     * @param remainingDuration  the remaining duration of the current track
+     * @param lastAccountedIndex the index of the last track accounted for
+     * @param order              the shuffle order
+     */
+    public void restorePosition(final int trackIndex, final int shuffledIndex,
+                                final int remainingDuration, final int lastAccountedIndex,
+                                final int[] order) {
+        if (audioCollection != null) {
+            index = trackIndex;
+            updateAudioFile();
+        }
+        indexShuffled = shuffledIndex;
+        remainedDuration = remainingDuration;
+        accountedIndex = lastAccountedIndex;
+        resizeShuffleOrder(order.length);
+        for (int position = 0; position < order.length; position++) {
+            shuffleOrder[position] = order[position];
+            shufflePositions[order[position]] = position;
+        }
+    }
+
+    /**
+     * Moves the accounted mark to the current track.
+     * The returned index follows the previous mark, so when the current track is at or before
+     * it, the range up to the current index is empty. The mark then moves back with the
+     * current track, and the tracks after it are returned again once playback reaches them.
+     *
+     * @return the index following the previous mark; the newly started tracks run from it up
+     *         to the current index
+     */
+    public int accountStartedTracks() {
+        int firstNew = accountedIndex + 1;
+        accountedIndex = index;
+        return firstNew;
+    }
+
     /**
      * Generate shuffle order.
      *
      * @param seed the seed
      */
     public void generateShuffleOrder(final Integer seed) {
-        indices.clear();
+        int size = audioCollection.getNumberOfTracks();
+        resizeShuffleOrder(size);
+        for (int i = 0; i < size; i++) {
+            shuffleOrder[i] = i;
+        }
+
+        // Same swaps, in the same order, as Collections.shuffle(list, new Random(seed)).
         Random random = new Random(seed);
-        for (int i = 0; i < audioCollection.getNumberOfTracks(); i++) {
-            indices.add(i);
+        for (int i = size; i > 1; i--) {
+            int other = random.nextInt(i);
+            int track = shuffleOrder[i - 1];
+            shuffleOrder[i - 1] = shuffleOrder[other];
+            shuffleOrder[other] = track;
+        }
+
+        for (int position = 0; position < size; position++) {
+            shufflePositions[shuffleOrder[position]] = position;
         }
-        Collections.shuffle(indices, random);
     }
 
     /**
      * Update shuffle index.
      */
     public void updateShuffleIndex() {
-        for (int i = 0; i < indices.size(); i++) {
-            if (indices.get(i) == index) {
-                indexShuffled = i;
-                break;
-            }
+        if (index < shuffleSize) {
+            indexShuffled = shufflePositions[index];
+        }
+    }
+
+    private void resizeShuffleOrder(final int size) {
+        if (shuffleOrder.length < size) {
+            shuffleOrder = new int[size];
+            shufflePositions = new int[size];
         }
+        shuffleSize = size;
     }
 
     /**
-     * Skip.
+     * Skip. Going back past the start of an episode moves on to the next one with no time
+     * remaining; on the last episode it stays there, as {@link #seek(int)} does past the end.
      *
      * @param duration the duration
      */
@@ -204,13 +284,38 @@ public class PlayerSource {
         remainedDuration += duration;
         if (remainedDuration > audioFile.getDuration()) {
             remainedDuration = 0;
-            index++;
+            index = Math.min(index + 1, audioCollection.getNumberOfTracks() - 1);
             updateAudioFile();
         } else if (remainedDuration < 0) {
             remainedDuration = 0;
         }
     }
 
+    /**
+     * Moves through a podcast by any offset, crossing as many episodes as needed. Seeking past
+     * the start stops at the start; seeking past the end leaves the last episode with no time
+     * remaining, so the podcast ends on the next update.
+     *
+     * @param offset the seconds to move forward, or backward if negative
+     */
+    public void seek(final int offset) {
+        Podcast podcast = (Podcast) audioCollection;
+        long position = (long) podcast.getEpisodeStart(index)
+                + audioFile.getDuration() - remainedDuration + offset;
+
+        if (position >= podcast.getDuration()) {
+            index = podcast.getNumberOfTracks() - 1;
+            updateAudioFile();
+            remainedDuration = 0;
+            return;
+        }
+
+        int target = (int) Math.max(position, 0);
+        index = podcast.findEpisode(target);
+        updateAudioFile();
+        remainedDuration = audioFile.getDuration() - (target - podcast.getEpisodeStart(index));
+    }
+
     private void updateAudioFile() {
         setAudioFile(audioCollection.getTrackByIndex(index));
     }
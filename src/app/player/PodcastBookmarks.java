@@ -0,0 +1,159 @@
+package app.player;
+
+import app.audio.Collections.AudioCollection;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The positions a user left podcasts at, keyed by the podcast itself rather than its name.
+ *
+ * <p>Each podcast gets a slot in two int arrays holding the episode index and the remaining
+ * duration of that episode, so saving a position again only overwrites the slot. The map keeps
+ * the podcasts from the least to the most recently used; with a limit, the least recently used
+ * podcast gives its slot to a new one once the limit is reached.
+ */
+public final class PodcastBookmarks {
+    /**
+     * The limit meaning every podcast keeps its bookmark.
+     */
+    public static final int UNLIMITED = 0;
+    private static final int INITIAL_CAPACITY = 4;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final int limit;
+    private final LinkedHashMap<AudioCollection, Integer> slots =
+            new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+    private int[] episodes = new int[INITIAL_CAPACITY];
+    private int[] remainedDurations = new int[INITIAL_CAPACITY];
+
+    /**
+     * Instantiates new Podcast bookmarks.
+     *
+     * @param limit the number of podcasts kept, or {@link #UNLIMITED}
+     * @throws IllegalArgumentException if the limit is negative
+     */
+    public PodcastBookmarks(final int limit) {
+        this.limit = checkLimit(limit);
+    }
+
+    /**
+     * Checks a limit on the number of podcasts kept.
+     *
+     * @param limit the limit
+     * @return the limit
+     * @throws IllegalArgumentException if the limit is neither positive nor {@link #UNLIMITED}
+     */
+    public static int checkLimit(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException(
+                    "The podcast bookmark limit must be positive, or %d for no limit, not %d."
+                            .formatted(UNLIMITED, limit));
+        }
+        return limit;
+    }
+
+    /**
+     * Saves the position in a podcast, replacing the previous one.
+     *
+     * @param podcast          the podcast
+     * @param episode          the index of the current episode
+     * @param remainedDuration the remaining duration of the current episode
+     */
+    public void put(final AudioCollection podcast, final int episode,
+                    final int remainedDuration) {
+        Integer slot = slots.get(podcast);
+        if (slot == null) {
+            slot = freeSlot();
+            slots.put(podcast, slot);
+        }
+        episodes[slot] = episode;
+        remainedDurations[slot] = remainedDuration;
+    }
+
+    /**
+     * Finds the slot of a podcast, marking it as the most recently used.
+     *
+     * @param podcast the podcast
+     * @return the slot, or -1 if the podcast has no bookmark
+     */
+    public int find(final AudioCollection podcast) {
+        Integer slot = slots.get(podcast);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Gets the episode saved in a slot.
+     *
+     * @param slot the slot
+     * @return the episode index
+     */
+    public int getEpisode(final int slot) {
+        return episodes[slot];
+    }
+
+    /**
+     * Gets the remaining duration saved in a slot.
+     *
+     * @param slot the slot
+     * @return the remaining duration of the episode
+     */
+    public int getRemainedDuration(final int slot) {
+        return remainedDurations[slot];
+    }
+
+    /**
+     * Gets the number of bookmarks.
+     *
+     * @return the size
+     */
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Visits the bookmarks from the least to the most recently used, the order in which
+     * putting them again rebuilds the same store.
+     *
+     * @param visitor the visitor
+     */
+    public void forEach(final Visitor visitor) {
+        for (Map.Entry<AudioCollection, Integer> entry : slots.entrySet()) {
+            int slot = entry.getValue();
+            visitor.visit(entry.getKey(), episodes[slot], remainedDurations[slot]);
+        }
+    }
+
+    private int freeSlot() {
+        if (limit != UNLIMITED && slots.size() >= limit) {
+            Iterator<Integer> eldest = slots.values().iterator();
+            int slot = eldest.next();
+            eldest.remove();
+            return slot;
+        }
+
+        int slot = slots.size();
+        if (slot == episodes.length) {
+            episodes = Arrays.copyOf(episodes, 2 * slot);
+            remainedDurations = Arrays.copyOf(remainedDurations, 2 * slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Receives the bookmarks of {@link #forEach(Visitor)}.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Visits a bookmark.
+         *
+         * @param podcast          the podcast
+         * @param episode          the index of the current episode
+         * @param remainedDuration the remaining duration of the current episode
+         */
+        void visit(AudioCollection podcast, int episode, int remainedDuration);
+    }
+}
@@ -0,0 +1,24 @@
+package app.recommendations;
+
+import app.Admin;
+import app.audio.Files.Song;
+import app.statistics.ListenConsumer;
+import app.statistics.ListenEvent;
+
+import java.util.List;
+
+/**
+ * Ranks the fans of every artist by how many of the artist's songs they listened to.
+ */
+public final class FanRankingStatistics implements ListenConsumer {
+    @Override
+    public void consume(final List<ListenEvent> events) {
+        Admin admin = Admin.getInstance();
+        for (ListenEvent event : events) {
+            if (event.getTrack() instanceof Song) {
+                admin.getOrAddArtist(event.getOwner()).getFans()
+                        .increment(event.getUser().getUsername());
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package app.recommendations;
+
+import app.audio.Files.Song;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Per-genre views over the song catalog: songs in catalog order, and songs ranked by likes.
+ * The like ranking is kept up to date on every like, so the top songs of a genre are read
+ * without sorting the catalog.
+ */
+public final class GenreIndex {
+    private static final Comparator<Song> BY_LIKES = Comparator
+            .comparing(Song::getLikes, Comparator.reverseOrder())
+            .thenComparingLong(Song::getCatalogOrder);
+    private final Map<String, List<Song>> byCatalogOrder = new HashMap<>();
+    private final Map<String, NavigableSet<Song>> byLikes = new HashMap<>();
+    private long added = 0;
+
+    /**
+     * Add a song at the end of the catalog.
+     *
+     * @param song the song
+     */
+    public void add(final Song song) {
+        song.setCatalogOrder(added++);
+        byCatalogOrder.computeIfAbsent(song.getGenre(), genre -> new ArrayList<>()).add(song);
+        byLikes.computeIfAbsent(song.getGenre(), genre -> new TreeSet<>(BY_LIKES)).add(song);
+    }
+
+    /**
+     * Remove a song from the catalog.
+     *
+     * @param song the song
+     */
+    public void remove(final Song song) {
+        List<Song> songs = byCatalogOrder.get(song.getGenre());
+        if (songs != null) {
+            songs.remove(song);
+            byLikes.get(song.getGenre()).remove(song);
+        }
+    }
+
+    /**
+     * Applies a change to the likes of a song, moving it to its new place in the ranking.
+     *
+     * @param song   the song
+     * @param change the change of the song's likes
+     */
+    public void updateLikes(final Song song, final Runnable change) {
+        NavigableSet<Song> ranking = byLikes.get(song.getGenre());
+        if (ranking == null || !ranking.remove(song)) {
+            change.run();
+            return;
+        }
+
+        change.run();
+        ranking.add(song);
+    }
+
+    /**
+     * Gets the songs of a genre in catalog order.
+     *
+     * @param genre the genre
+     * @return the songs
+     */
+    public List<Song> getSongs(final String genre) {
+        return Collections.unmodifiableList(byCatalogOrder.getOrDefault(genre,
+                Collections.emptyList()));
+    }
+
+    /**
+     * Gets the most liked songs of a genre, ties broken by catalog order.
+     *
+     * @param genre the genre
+     * @param limit the maximum number of songs
+     * @return the songs
+     */
+    public List<Song> getTopSongs(final String genre, final int limit) {
+        List<Song> result = new ArrayList<>();
+        NavigableSet<Song> ranking = byLikes.get(genre);
+        if (ranking == null) {
+            return result;
+        }
+
+        Iterator<Song> iterator = ranking.iterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+}
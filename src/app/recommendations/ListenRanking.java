@@ -0,0 +1,68 @@
+package app.recommendations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Listen counts per key, kept ranked by count descending and then by key.
+ */
+public final class ListenRanking {
+    private final Map<String, Integer> counts = new HashMap<>();
+    private final NavigableSet<String> ranking = new TreeSet<>(Comparator
+            .comparing((String key) -> counts.get(key), Comparator.reverseOrder())
+            .thenComparing(Comparator.naturalOrder()));
+
+    /**
+     * Record a listen.
+     *
+     * @param key the key
+     */
+    public void increment(final String key) {
+        add(key, 1);
+    }
+
+    /**
+     * Record several listens.
+     *
+     * @param key   the key
+     * @param count the number of listens
+     */
+    public void add(final String key, final int count) {
+        if (counts.containsKey(key)) {
+            ranking.remove(key);
+        }
+        counts.merge(key, count, Integer::sum);
+        ranking.add(key);
+    }
+
+    /**
+     * Gets the listen counts.
+     *
+     * @return the counts
+     */
+    public Map<String, Integer> getCounts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * Gets the keys with the most listens.
+     *
+     * @param limit the maximum number of keys
+     * @return the keys
+     */
+    public List<String> getTop(final int limit) {
+        List<String> result = new ArrayList<>();
+        Iterator<String> iterator = ranking.iterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+}
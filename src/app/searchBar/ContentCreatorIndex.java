@@ -0,0 +1,119 @@
+package app.searchBar;
+
+import app.user.ContentCreator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Sorted, case-folded username index for artist and host prefix searches.
+ *
+ * @param <T> the content creator type
+ */
+public final class ContentCreatorIndex<T extends ContentCreator> {
+    private static final char SEPARATOR = '\0';
+    private static final Comparator<Entry<?>> BY_REGISTRATION =
+            Comparator.comparingLong(entry -> entry.registration);
+    private final NavigableMap<String, Entry<T>> byName = new TreeMap<>();
+    private final Map<String, Entry<T>> byRegistration = new LinkedHashMap<>();
+    private long registrations = 0;
+
+    /**
+     * Add content creator.
+     *
+     * @param creator the creator
+     */
+    public void add(final T creator) {
+        Entry<T> entry = new Entry<>(registrations++, creator);
+        byName.put(key(creator.getUsername()), entry);
+        byRegistration.put(creator.getUsername(), entry);
+    }
+
+    /**
+     * Remove content creator.
+     *
+     * @param creator the creator
+     */
+    public void remove(final T creator) {
+        byName.remove(key(creator.getUsername()));
+        byRegistration.remove(creator.getUsername());
+    }
+
+    /**
+     * Gets a content creator by username.
+     *
+     * @param username the username
+     * @return the creator, or null if none is registered
+     */
+    public T get(final String username) {
+        Entry<T> entry = byRegistration.get(username);
+        return entry == null ? null : entry.creator;
+    }
+
+    /**
+     * Searches the creators whose username starts with the given prefix, ignoring case.
+     * Matches are returned in registration order, like a scan over the creator list; only the
+     * first {@code limit} of them are kept while scanning the prefix range.
+     *
+     * @param prefix the prefix, or null to match every creator
+     * @param limit  the maximum number of results
+     * @return the matching creators
+     */
+    public List<T> search(final String prefix, final int limit) {
+        List<T> result = new ArrayList<>();
+
+        if (prefix == null) {
+            for (Entry<T> entry : byRegistration.values()) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(entry.creator);
+            }
+            return result;
+        }
+
+        if (limit <= 0) {
+            return result;
+        }
+
+        // Keep only the earliest registrations seen so far, latest on top to be evicted.
+        String from = prefix.toLowerCase();
+        PriorityQueue<Entry<T>> earliest = new PriorityQueue<>(limit, BY_REGISTRATION.reversed());
+        for (Entry<T> entry : byName.subMap(from, true, from + Character.MAX_VALUE, true)
+                .values()) {
+            if (earliest.size() < limit) {
+                earliest.add(entry);
+            } else if (entry.registration < earliest.peek().registration) {
+                earliest.poll();
+                earliest.add(entry);
+            }
+        }
+
+        List<Entry<T>> matches = new ArrayList<>(earliest);
+        matches.sort(BY_REGISTRATION);
+        for (Entry<T> entry : matches) {
+            result.add(entry.creator);
+        }
+        return result;
+    }
+
+    private static String key(final String username) {
+        return username.toLowerCase() + SEPARATOR + username;
+    }
+
+    private static final class Entry<T> {
+        private final long registration;
+        private final T creator;
+
+        Entry(final long registration, final T creator) {
+            this.registration = registration;
+            this.creator = creator;
+        }
+    }
+}
@@ -2,11 +2,13 @@ package app.searchBar;
 
 
 import app.Admin;
+import app.audio.CatalogSnapshot;
 import app.audio.LibraryEntry;
 import app.user.ContentCreator;
 import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static app.searchBar.FilterUtils.filterByAlbum;
@@ -17,7 +19,6 @@ import static app.searchBar.FilterUtils.filterByGenre;
 import static app.searchBar.FilterUtils.filterByLyrics;
 import static app.searchBar.FilterUtils.filterByName;
 import static app.searchBar.FilterUtils.filterByOwner;
-import static app.searchBar.FilterUtils.filterByPlaylistVisibility;
 import static app.searchBar.FilterUtils.filterByReleaseYear;
 import static app.searchBar.FilterUtils.filterByTags;
 
@@ -27,6 +28,7 @@ import static app.searchBar.FilterUtils.filterByTags;
  */
 public final class SearchBar {
     private static Admin admin;
+    @Getter
     private List<LibraryEntry> results;
     private final String user;
     private static final Integer MAX_RESULTS = 5;
@@ -57,6 +59,25 @@ public final class SearchBar {
         this.user = user;
     }
 
+    /**
+     * Restores a saved search.
+     *
+     * @param restoredResults  the results of the last search
+     * @param restoredCreators the content creators found by the last search
+     * @param searchType       the type of the last search
+     * @param selected         the selected entry
+     * @param creatorSelected  the selected content creator
+     */
+    public void restore(final List<LibraryEntry> restoredResults,
+                        final List<ContentCreator> restoredCreators, final String searchType,
+                        final LibraryEntry selected, final ContentCreator creatorSelected) {
+        results = new ArrayList<>(restoredResults);
+        resultsContentCreator = new ArrayList<>(restoredCreators);
+        lastSearchType = searchType;
+        lastSelected = selected;
+        lastContentCreatorSelected = creatorSelected;
+    }
+
     /**
      * Clear selection.
      */
@@ -74,10 +95,11 @@ public final class SearchBar {
      */
     public List<LibraryEntry> search(final Filters filters, final String type) {
         List<LibraryEntry> entries;
+        CatalogSnapshot catalog = admin.getCatalog();
 
         switch (type) {
             case "song":
-                entries = new ArrayList<>(admin.getSongs());
+                entries = Collections.unmodifiableList(catalog.getSongs());
 
                 if (filters.getName() != null) {
                     entries = filterByName(entries, filters.getName());
@@ -109,9 +131,7 @@ public final class SearchBar {
 
                 break;
             case "playlist":
-                entries = new ArrayList<>(admin.getPlaylists());
-
-                entries = filterByPlaylistVisibility(entries, user);
+                entries = new ArrayList<>(admin.getVisiblePlaylists(user));
 
                 if (filters.getName() != null) {
                     entries = filterByName(entries, filters.getName());
@@ -127,7 +147,7 @@ public final class SearchBar {
 
                 break;
             case "podcast":
-                entries = new ArrayList<>(admin.getPodcasts());
+                entries = Collections.unmodifiableList(catalog.getPodcasts());
 
                 if (filters.getName() != null) {
                     entries = filterByName(entries, filters.getName());
@@ -139,7 +159,7 @@ public final class SearchBar {
 
                 break;
             case "album":
-                entries = new ArrayList<>(admin.getAlbums());
+                entries = Collections.unmodifiableList(catalog.getAlbums());
 
                 if (filters.getName() != null) {
                     entries = filterByName(entries, filters.getName());
@@ -158,11 +178,8 @@ public final class SearchBar {
                 entries = new ArrayList<>();
         }
 
-        while (entries.size() > MAX_RESULTS) {
-            entries.remove(entries.size() - 1);
-        }
-
-        this.results = entries;
+        this.results = new ArrayList<>(entries.subList(0, Math.min(entries.size(),
+                MAX_RESULTS)));
         this.resultsContentCreator.clear();
         this.lastSearchType = type;
         return this.results;
@@ -180,26 +197,10 @@ public final class SearchBar {
 
         switch (type) {
             case "artist":
-                entries = new ArrayList<>(admin.getArtists());
-
-                if (filters.getName() != null) {
-                    entries.removeIf(contentCreator
-                            -> !contentCreator.getUsername().toLowerCase()
-                            .startsWith(filters.getName()
-                                    .toLowerCase()));
-                }
-
+                entries = new ArrayList<>(admin.searchArtists(filters.getName(), MAX_RESULTS));
                 break;
             case "host":
-                entries = new ArrayList<>(admin.getHosts());
-
-                if (filters.getName() != null) {
-                    entries.removeIf(contentCreator
-                            -> !contentCreator.getUsername().toLowerCase()
-                            .startsWith(filters.getName()
-                                    .toLowerCase()));
-                }
-
+                entries = new ArrayList<>(admin.searchHosts(filters.getName(), MAX_RESULTS));
                 break;
             default:
                 entries = new ArrayList<>();
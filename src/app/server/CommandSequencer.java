@@ -0,0 +1,163 @@
+package app.server;
+
+import app.Admin;
+import app.CommandRunner;
+import app.snapshot.CommandJournal;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fileio.input.CommandInput;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * The single writer of the {@link Admin}: commands submitted from any thread are queued and
+ * run one at a time on the sequencer's own thread, in the order they were submitted.
+ *
+ * <p>Time never goes back: a command without a timestamp, or with one earlier than the last
+ * one applied, runs at the current timestamp. When a journal is given, every command is
+ * appended to it before it runs, as in a replayed run.
+ */
+public final class CommandSequencer implements Closeable {
+    private final BlockingQueue<Submission> queue = new LinkedBlockingQueue<>();
+    private final Submission stop = new Submission(() -> null, new CompletableFuture<>());
+    private final CommandJournal journal;
+    private final Thread writer;
+    private final Object lock = new Object();
+    private boolean running = true;
+
+    /**
+     * Instantiates a new Command sequencer and starts its thread.
+     *
+     * @param journal the journal to append the commands to, or null
+     */
+    public CommandSequencer(final CommandJournal journal) {
+        this.journal = journal;
+        this.writer = new Thread(this::run, "command-sequencer");
+        writer.start();
+    }
+
+    /**
+     * Queues a command.
+     *
+     * @param command the command
+     * @return the output of the command, completed with null if the command has none
+     */
+    public CompletableFuture<ObjectNode> submit(final CommandInput command) {
+        return enqueue(new Submission(() -> execute(command), new CompletableFuture<>()));
+    }
+
+    /**
+     * Queues a task that reads or changes the state, such as ending the program.
+     *
+     * @param task the task
+     * @return the output of the task
+     */
+    public CompletableFuture<ObjectNode> submit(final Supplier<ObjectNode> task) {
+        return enqueue(new Submission(task, new CompletableFuture<>()));
+    }
+
+    /**
+     * Queues a submission unless the sequencer is closed. Checking and queueing hold the lock
+     * that closing takes, so every queued submission is ahead of the stop marker and runs.
+     */
+    private CompletableFuture<ObjectNode> enqueue(final Submission submission) {
+        synchronized (lock) {
+            if (running) {
+                queue.add(submission);
+                return submission.output;
+            }
+        }
+
+        submission.output.completeExceptionally(
+                new IllegalStateException("The sequencer is closed."));
+        return submission.output;
+    }
+
+    private void run() {
+        List<Submission> batch = new ArrayList<>();
+        boolean stopped = false;
+        while (!stopped) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;
+            }
+            queue.drainTo(batch);
+            for (Submission submission : batch) {
+                if (submission == stop) {
+                    stopped = true;
+                } else if (stopped) {
+                    submission.output.completeExceptionally(
+                            new IllegalStateException("The sequencer is closed."));
+                } else {
+                    apply(submission);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void apply(final Submission submission) {
+        try {
+            submission.output.complete(submission.task.get());
+        } catch (RuntimeException e) {
+            submission.output.completeExceptionally(e);
+        }
+    }
+
+    private ObjectNode execute(final CommandInput command) {
+        Admin admin = Admin.getInstance();
+        if (command.getTimestamp() == null || command.getTimestamp() < admin.getTimestamp()) {
+            command.setTimestamp(admin.getTimestamp());
+        }
+
+        try {
+            if (journal != null) {
+                journal.append(command);
+            }
+            admin.updateTimestamp(command.getTimestamp());
+            ObjectNode output = CommandRunner.execute(command);
+            if (journal != null) {
+                journal.compactIfDue();
+            }
+            return output;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Runs the commands queued so far, then stops the thread.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (running) {
+                running = false;
+                queue.add(stop);
+            }
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Submission {
+        private final Supplier<ObjectNode> task;
+        private final CompletableFuture<ObjectNode> output;
+
+        Submission(final Supplier<ObjectNode> task, final CompletableFuture<ObjectNode> output) {
+            this.task = task;
+            this.output = output;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package app.server;
+
+import app.CommandRunner;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import fileio.input.CommandInput;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP front end serving live clients.
+ *
+ * <p>{@code POST /commands} takes one {@link CommandInput} JSON per line and answers with one
+ * line per command: its output, or {@code null} if it has none. The commands of a request are
+ * submitted to the {@link CommandSequencer} in order, so a client sending its session's
+ * commands in order sees them run in that order, interleaved with other clients' commands.
+ * {@code POST /end} ends the program and answers with the final statistics.
+ *
+ * <p>Requests are handled on a cached thread pool; they mostly wait for the sequencer, so the
+ * threads stay cheap. On a JDK with virtual threads, a virtual-thread-per-task executor can be
+ * passed instead.
+ */
+public final class CommandServer implements Closeable {
+    private static final int OK = 200;
+    private static final int BAD_REQUEST = 400;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int INTERNAL_ERROR = 500;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final CommandSequencer sequencer;
+
+    /**
+     * Instantiates a new Command server and starts it.
+     *
+     * @param address   the address to listen on
+     * @param sequencer the sequencer running the commands
+     * @param executor  the executor handling the requests
+     * @throws IOException if the address can't be bound
+     */
+    public CommandServer(final InetSocketAddress address, final CommandSequencer sequencer,
+                         final ExecutorService executor) throws IOException {
+        this.sequencer = sequencer;
+        this.executor = executor;
+        server = HttpServer.create(address, 0);
+        server.createContext("/commands", this::handleCommands);
+        server.createContext("/end", this::handleEnd);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Instantiates a new Command server handling requests on a cached thread pool.
+     *
+     * @param address   the address to listen on
+     * @param sequencer the sequencer running the commands
+     * @throws IOException if the address can't be bound
+     */
+    public CommandServer(final InetSocketAddress address, final CommandSequencer sequencer)
+            throws IOException {
+        this(address, sequencer, Executors.newCachedThreadPool());
+    }
+
+    /**
+     * Gets the address the server listens on.
+     *
+     * @return the address, with the actual port if port 0 was asked for
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private void handleCommands(final HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, METHOD_NOT_ALLOWED, "");
+            return;
+        }
+
+        List<CommandInput> commands = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    commands.add(OBJECT_MAPPER.readValue(line, CommandInput.class));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            respond(exchange, BAD_REQUEST, e.getOriginalMessage() + "\n");
+            return;
+        }
+
+        List<CompletableFuture<ObjectNode>> outputs = new ArrayList<>(commands.size());
+        commands.forEach(command -> outputs.add(sequencer.submit(command)));
+        respond(exchange, outputs);
+    }
+
+    private void handleEnd(final HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, METHOD_NOT_ALLOWED, "");
+            return;
+        }
+
+        respond(exchange, List.of(sequencer.submit(CommandRunner::end)));
+    }
+
+    /**
+     * Waits for the outputs and answers with one line per output, or with an error if a
+     * command failed.
+     */
+    private static void respond(final HttpExchange exchange,
+                                final List<CompletableFuture<ObjectNode>> outputs)
+            throws IOException {
+        StringBuilder body = new StringBuilder();
+        try {
+            for (CompletableFuture<ObjectNode> output : outputs) {
+                body.append(OBJECT_MAPPER.writeValueAsString(output.get())).append('\n');
+            }
+        } catch (ExecutionException e) {
+            respond(exchange, INTERNAL_ERROR, e.getCause() + "\n");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, INTERNAL_ERROR, "Interrupted.\n");
+            return;
+        }
+        respond(exchange, OK, body.toString());
+    }
+
+    private static void respond(final HttpExchange exchange, final int status,
+                                final String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(bytes);
+        }
+    }
+
+    /**
+     * Stops accepting requests, then stops the request threads.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+}
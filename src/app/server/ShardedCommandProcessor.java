@@ -0,0 +1,179 @@
+package app.server;
+
+import app.Admin;
+import app.CommandRunner;
+import app.utils.DeferredEffects;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fileio.input.CommandInput;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs commands on several cores by partitioning the users into shards, each owned by a
+ * worker thread with its own mailbox.
+ *
+ * <p>Consecutive commands with the same timestamp that only touch their own user (searching,
+ * selecting, loading, playback controls, liking and status) form a window: each is routed to
+ * the shard of its user, the shards run their part of the window in parallel, and the
+ * coordinator waits for all of them at a barrier. The changes these commands make to shared
+ * state are captured as {@link DeferredEffects} and applied at the barrier in command order,
+ * so the outputs and the state match running the commands one by one. Every other command,
+ * and every change of timestamp, runs on the coordinator while the workers are idle.
+ */
+public final class ShardedCommandProcessor implements Closeable {
+    private static final Set<String> USER_COMMANDS = Set.of("search", "select", "load",
+            "playPause", "repeat", "shuffle", "forward", "backward", "seek", "like", "next",
+            "prev", "status");
+    private static final int MAX_WINDOW = 4096;
+    private static final Runnable STOP = () -> { };
+
+    private final List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Instantiates a new Sharded command processor and starts its workers.
+     *
+     * @param shardCount the number of shards
+     */
+    public ShardedCommandProcessor(final int shardCount) {
+        for (int i = 0; i < shardCount; i++) {
+            Shard shard = new Shard("command-shard-" + i);
+            shards.add(shard);
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * Runs commands, in the order given.
+     *
+     * @param commands the commands
+     * @return the outputs, with null for the commands that have none
+     */
+    public List<ObjectNode> process(final List<CommandInput> commands) {
+        List<ObjectNode> outputs = new ArrayList<>(commands.size());
+        int start = 0;
+        while (start < commands.size()) {
+            CommandInput first = commands.get(start);
+            Admin.getInstance().updateTimestamp(first.getTimestamp());
+
+            int end = start + 1;
+            if (isUserCommand(first)) {
+                while (end < commands.size() && end - start < MAX_WINDOW
+                        && commands.get(end).getTimestamp().equals(first.getTimestamp())
+                        && isUserCommand(commands.get(end))) {
+                    end++;
+                }
+            }
+
+            if (end - start == 1) {
+                outputs.add(CommandRunner.execute(first));
+            } else {
+                outputs.addAll(runWindow(commands.subList(start, end)));
+            }
+            start = end;
+        }
+        return outputs;
+    }
+
+    private static boolean isUserCommand(final CommandInput command) {
+        return USER_COMMANDS.contains(command.getCommand())
+                && Admin.getInstance().getUser(command.getUsername()) != null;
+    }
+
+    private List<ObjectNode> runWindow(final List<CommandInput> window) {
+        List<List<Integer>> routed = new ArrayList<>();
+        shards.forEach(shard -> routed.add(new ArrayList<>()));
+        for (int i = 0; i < window.size(); i++) {
+            String username = window.get(i).getUsername();
+            routed.get(Math.floorMod(username.hashCode(), shards.size())).add(i);
+        }
+
+        ObjectNode[] outputs = new ObjectNode[window.size()];
+        List<List<Runnable>> effects = new ArrayList<>(window.size());
+        window.forEach(command -> effects.add(null));
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        CountDownLatch barrier = new CountDownLatch(
+                (int) routed.stream().filter(indices -> !indices.isEmpty()).count());
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            List<Integer> indices = routed.get(shard);
+            if (indices.isEmpty()) {
+                continue;
+            }
+
+            shards.get(shard).mailbox.add(() -> {
+                try {
+                    for (int i : indices) {
+                        effects.set(i, DeferredEffects.capture(
+                                () -> outputs[i] = CommandRunner.execute(window.get(i))));
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    barrier.countDown();
+                }
+            });
+        }
+
+        try {
+            barrier.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the shards.", e);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        effects.forEach(commandEffects -> commandEffects.forEach(Runnable::run));
+        return Arrays.asList(outputs);
+    }
+
+    /**
+     * Stops the workers once their mailboxes are empty.
+     */
+    @Override
+    public void close() {
+        shards.forEach(shard -> shard.mailbox.add(STOP));
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static final class Shard {
+        private final BlockingQueue<Runnable> mailbox = new LinkedBlockingQueue<>();
+        private final Thread thread;
+
+        Shard(final String name) {
+            thread = new Thread(this::run, name);
+            thread.setDaemon(true);
+        }
+
+        private void run() {
+            while (true) {
+                Runnable task;
+                try {
+                    task = mailbox.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (task == STOP) {
+                    return;
+                }
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package app.snapshot;
+
+import app.Admin;
+import app.CommandRunner;
+import app.searchBar.SearchBar;
+import app.utils.Enums;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fileio.input.CommandInput;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a simulation recoverable: a snapshot plus the log of the commands applied since.
+ *
+ * <p>The directory holds {@code snapshot-N.bin} and {@code log-N.bin} files, where N is the
+ * number of commands applied before them. Compaction writes a new snapshot and starts a new
+ * log before deleting the older files, so a crash at any point leaves a snapshot and the log
+ * records that follow it. Commands are appended before they run; with group commit, the
+ * commands of a group that wasn't written yet are lost on a crash and have to be run again.
+ *
+ * <p>Compaction also writes {@code outputs-N.bin}, the outputs of the commands since the
+ * previous snapshot as a JSON array. Recovery reads the outputs up to the snapshot it
+ * restores and gets the rest by running the logged commands again, so the outputs of a
+ * recovered run match those of a run that never stopped.
+ */
+public final class CommandJournal implements Closeable {
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String LOG_PREFIX = "log-";
+    private static final String OUTPUTS_PREFIX = "outputs-";
+    private static final String SUFFIX = ".bin";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Path directory;
+    private final Enums.SyncPolicy syncPolicy;
+    private final int groupSize;
+    private final int compactionInterval;
+    private final ArrayNode outputs = OBJECT_MAPPER.createArrayNode();
+    private CommandLog log;
+    private int compactedSequence;
+    private int compactedOutputs;
+    private int attemptedSequence;
+
+    /**
+     * Instantiates a new Command journal.
+     *
+     * @param directory          the directory of the snapshots and logs
+     * @param syncPolicy         when logged commands are forced to the disk
+     * @param groupSize          the number of commands written to the log together
+     * @param compactionInterval the number of logged commands after which a new snapshot is
+     *                           taken
+     * @throws IOException if the directory can't be created
+     */
+    public CommandJournal(final Path directory, final Enums.SyncPolicy syncPolicy,
+                          final int groupSize, final int compactionInterval)
+            throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.syncPolicy = syncPolicy;
+        this.groupSize = groupSize;
+        this.compactionInterval = compactionInterval;
+    }
+
+    /**
+     * Checks whether there is a snapshot to recover from.
+     *
+     * @return whether a previous run left a snapshot
+     * @throws IOException if the directory can't be listed
+     */
+    public boolean hasState() throws IOException {
+        return !list(SNAPSHOT_PREFIX).isEmpty();
+    }
+
+    /**
+     * Gets the outputs of the commands applied so far, to which the outputs of the next
+     * commands are added.
+     *
+     * @return the outputs
+     */
+    public ArrayNode getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * Restores the latest snapshot and its outputs, and runs the logged commands that follow
+     * it, then keeps appending to the last log.
+     *
+     * @return the number of commands applied, counting those in the snapshot
+     * @throws IOException if the snapshot or the logs can't be read
+     */
+    public int recover() throws IOException {
+        List<Integer> snapshots = list(SNAPSHOT_PREFIX);
+        int sequence = snapshots.get(snapshots.size() - 1);
+        Admin.restoreSnapshot(path(SNAPSHOT_PREFIX, sequence));
+        SearchBar.updateAdmin();
+        CommandRunner.updateAdmin();
+        compactedSequence = sequence;
+
+        // Outputs written after the snapshot belong to a compaction that didn't finish.
+        for (int segment : list(OUTPUTS_PREFIX)) {
+            if (segment > sequence) {
+                Files.delete(path(OUTPUTS_PREFIX, segment));
+            } else {
+                outputs.addAll((ArrayNode) OBJECT_MAPPER.readTree(
+                        Files.readAllBytes(path(OUTPUTS_PREFIX, segment))));
+            }
+        }
+        compactedOutputs = outputs.size();
+
+        Path lastLog = null;
+        for (int logBase : list(LOG_PREFIX)) {
+            if (logBase > sequence) {
+                break;
+            }
+
+            lastLog = path(LOG_PREFIX, logBase);
+            List<CommandInput> commands = CommandLog.read(lastLog).getCommands();
+            for (int i = sequence - logBase; i < commands.size(); i++) {
+                CommandInput command = commands.get(i);
+                Admin.getInstance().updateTimestamp(command.getTimestamp());
+                ObjectNode output = CommandRunner.execute(command);
+                if (output != null) {
+                    outputs.add(output);
+                }
+                sequence++;
+            }
+        }
+
+        log = lastLog == null
+                ? CommandLog.create(path(LOG_PREFIX, sequence), sequence, syncPolicy, groupSize)
+                : CommandLog.append(lastLog, syncPolicy, groupSize);
+        return sequence;
+    }
+
+    /**
+     * Appends a command to the log before it runs.
+     *
+     * @param command the command
+     * @throws IOException if the log can't be written
+     */
+    public void append(final CommandInput command) throws IOException {
+        log.append(command);
+    }
+
+    /**
+     * Takes a new snapshot if enough commands were logged since the last one, or since the
+     * last attempt that failed.
+     *
+     * <p>A failed compaction doesn't stop the commands: the log still holds every command
+     * since the last snapshot, so recovery is unaffected, and the next attempt waits for
+     * another interval of commands.
+     */
+    public void compactIfDue() {
+        int sequence = log.getSequence();
+        if (sequence - Math.max(compactedSequence, attemptedSequence) < compactionInterval) {
+            return;
+        }
+
+        attemptedSequence = sequence;
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Compaction after command %d failed, keeping the log: %s"
+                    .formatted(sequence, e));
+        }
+    }
+
+    /**
+     * Saves the current state as a snapshot along with the outputs since the previous one,
+     * starts a new log and deletes the older snapshots and logs.
+     *
+     * @throws IOException if the snapshot or the new log can't be written
+     */
+    public void compact() throws IOException {
+        int sequence = 0;
+        if (log != null) {
+            log.flush();
+            sequence = log.getSequence();
+        }
+
+        Path snapshot = path(SNAPSHOT_PREFIX, sequence);
+        Path temporary = snapshot.resolveSibling(snapshot.getFileName() + TEMPORARY_SUFFIX);
+        Path segment = outputs.size() > compactedOutputs ? path(OUTPUTS_PREFIX, sequence) : null;
+        try {
+            Admin.getInstance().saveSnapshot(temporary);
+            if (segment != null) {
+                writeOutputs(segment);
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            for (Path file : new Path[] {temporary, segment}) {
+                try {
+                    if (file != null) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException cleanup) {
+                    e.addSuppressed(cleanup);
+                }
+            }
+            throw e;
+        }
+        compactedOutputs = outputs.size();
+
+        CommandLog next = CommandLog.create(path(LOG_PREFIX, sequence), sequence, syncPolicy,
+                groupSize);
+        if (log != null) {
+            log.close();
+        }
+        log = next;
+        compactedSequence = sequence;
+
+        deleteBefore(SNAPSHOT_PREFIX, sequence);
+        deleteBefore(LOG_PREFIX, sequence);
+    }
+
+    /**
+     * Closes the log and deletes the snapshots and logs, once the simulation has ended and
+     * nothing is left to recover.
+     *
+     * @throws IOException if the files can't be deleted
+     */
+    public void delete() throws IOException {
+        close();
+        for (String prefix : List.of(SNAPSHOT_PREFIX, LOG_PREFIX, OUTPUTS_PREFIX)) {
+            for (int sequence : list(prefix)) {
+                Files.deleteIfExists(path(prefix, sequence));
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+
+    /**
+     * Writes the outputs since the last snapshot, forcing them to the disk before the new
+     * snapshot replaces it.
+     */
+    private void writeOutputs(final Path segment) throws IOException {
+        ArrayNode added = OBJECT_MAPPER.createArrayNode();
+        for (int i = compactedOutputs; i < outputs.size(); i++) {
+            added.add(outputs.get(i));
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(OBJECT_MAPPER.writeValueAsBytes(added));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+    }
+
+    private void deleteBefore(final String prefix, final int sequence) throws IOException {
+        for (int older : list(prefix)) {
+            if (older < sequence) {
+                Files.deleteIfExists(path(prefix, older));
+            }
+        }
+    }
+
+    private Path path(final String prefix, final int sequence) {
+        return directory.resolve(prefix + sequence + SUFFIX);
+    }
+
+    /**
+     * Lists the sequence numbers of the files with the given prefix, in increasing order.
+     */
+    private List<Integer> list(final String prefix) throws IOException {
+        List<Integer> sequences = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(SUFFIX))
+                    .map(name -> name.substring(prefix.length(), name.length() - SUFFIX.length()))
+                    .forEach(sequence -> sequences.add(Integer.parseInt(sequence)));
+        }
+        sequences.sort(null);
+        return sequences;
+    }
+}
@@ -0,0 +1,234 @@
+package app.snapshot;
+
+import app.utils.Enums;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fileio.input.CommandInput;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of the commands applied after a snapshot.
+ *
+ * <p>The file starts with a header (magic, format version, base sequence), the number of
+ * commands the matching snapshot already contains. Every record is the length of the encoded
+ * command, its CRC-32 and the command itself as JSON. Appended records are kept in memory and
+ * written together once a group is full; a record cut short by a crash fails its length or
+ * checksum check and ends the log.
+ */
+public final class CommandLog implements Closeable {
+    static final int MAGIC = 0x47574C31;
+    static final int VERSION = 1;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final FileChannel channel;
+    private final Enums.SyncPolicy syncPolicy;
+    private final int groupSize;
+    private final int base;
+    private final List<ByteBuffer> pending = new ArrayList<>();
+    private int written;
+
+    private CommandLog(final FileChannel channel, final Enums.SyncPolicy syncPolicy,
+                       final int groupSize, final int base, final int written) {
+        this.channel = channel;
+        this.syncPolicy = syncPolicy;
+        this.groupSize = syncPolicy == Enums.SyncPolicy.COMMAND ? 1 : groupSize;
+        this.base = base;
+        this.written = written;
+    }
+
+    /**
+     * Creates an empty log, replacing the file if it exists.
+     *
+     * @param path       the file
+     * @param base       the number of commands before the first record
+     * @param syncPolicy when written records are forced to the disk
+     * @param groupSize  the number of records written together
+     * @return the log
+     * @throws IOException if the file can't be written
+     */
+    public static CommandLog create(final Path path, final int base,
+                                    final Enums.SyncPolicy syncPolicy,
+                                    final int groupSize) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(base);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+        return new CommandLog(channel, syncPolicy, groupSize, base, 0);
+    }
+
+    /**
+     * Opens an existing log to append to it, dropping a record left incomplete by a crash.
+     *
+     * @param path       the file
+     * @param syncPolicy when written records are forced to the disk
+     * @param groupSize  the number of records written together
+     * @return the log
+     * @throws IOException if the file can't be read or isn't a log
+     */
+    public static CommandLog append(final Path path, final Enums.SyncPolicy syncPolicy,
+                                    final int groupSize) throws IOException {
+        Entries entries = read(path);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        channel.truncate(entries.validLength);
+        channel.position(entries.validLength);
+        return new CommandLog(channel, syncPolicy, groupSize, entries.base,
+                entries.commands.size());
+    }
+
+    /**
+     * Reads the complete records of a log.
+     *
+     * @param path the file
+     * @return the records
+     * @throws IOException if the file can't be read or isn't a log
+     */
+    public static Entries read(final Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("%s is not a command log.".formatted(path));
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported command log version %d.".formatted(version));
+        }
+
+        Entries entries = new Entries(buffer.getInt());
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                break;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            entries.commands.add(OBJECT_MAPPER.readValue(payload, CommandInput.class));
+            entries.validLength = buffer.position();
+        }
+        return entries;
+    }
+
+    /**
+     * Appends a command. It reaches the file once its group is full or on {@link #flush()}.
+     *
+     * @param command the command
+     * @throws IOException if the group can't be written
+     */
+    public void append(final CommandInput command) throws IOException {
+        byte[] payload = OBJECT_MAPPER.writeValueAsBytes(command);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload.length);
+        record.putInt(payload.length);
+        record.putInt((int) crc.getValue());
+        record.put(payload);
+        record.flip();
+        pending.add(record);
+
+        if (pending.size() >= groupSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the pending records with a single gathering write, forcing them to the disk
+     * unless the sync policy leaves that to the operating system.
+     *
+     * @throws IOException if the records can't be written
+     */
+    public void flush() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        ByteBuffer[] records = pending.toArray(new ByteBuffer[0]);
+        ByteBuffer last = records[records.length - 1];
+        while (last.hasRemaining()) {
+            channel.write(records);
+        }
+        if (syncPolicy != Enums.SyncPolicy.NONE) {
+            channel.force(false);
+        }
+
+        written += pending.size();
+        pending.clear();
+    }
+
+    /**
+     * Gets the sequence number of the last appended command.
+     *
+     * @return the number of commands before the log plus the commands appended to it
+     */
+    public int getSequence() {
+        return base + written + pending.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * The complete records of a log.
+     */
+    public static final class Entries {
+        private final int base;
+        private final List<CommandInput> commands = new ArrayList<>();
+        private long validLength = HEADER_SIZE;
+
+        private Entries(final int base) {
+            this.base = base;
+        }
+
+        /**
+         * Gets base.
+         *
+         * @return the number of commands before the first record
+         */
+        public int getBase() {
+            return base;
+        }
+
+        /**
+         * Gets commands.
+         *
+         * @return the commands, in the order they were appended
+         */
+        public List<CommandInput> getCommands() {
+            return commands;
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package app.snapshot;
+
+import app.Admin;
+import app.audio.Collections.Album;
+import app.audio.Collections.Playlist;
+import app.audio.Collections.Podcast;
+import app.audio.Files.Episode;
+import app.audio.Files.Song;
+import app.audio.LibraryEntry;
+import app.monetization.ListeningWindow;
+import app.notifications.Notification;
+import app.pages.Page;
+import app.player.Player;
+import app.player.PlayerSource;
+import app.recommendations.ListenRanking;
+import app.user.Announcement;
+import app.user.Artist;
+import app.user.ContentCreator;
+import app.user.Event;
+import app.user.Host;
+import app.user.Merchandise;
+import app.user.User;
+import app.utils.Enums;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds the state of an {@link Admin} from a snapshot written by {@link SnapshotWriter}.
+ * The file is memory-mapped and the song columns are read in bulk.
+ */
+public final class SnapshotReader {
+    private final Admin admin;
+    private ByteBuffer buffer;
+    private String[] strings;
+    private final List<Song> songs = new ArrayList<>();
+    private final List<Podcast> podcasts = new ArrayList<>();
+
+    /**
+     * Instantiates a new Snapshot reader.
+     *
+     * @param admin an empty admin to restore into
+     */
+    public SnapshotReader(final Admin admin) {
+        this.admin = admin;
+    }
+
+    /**
+     * Reads the snapshot.
+     *
+     * @param path the file
+     * @throws IOException if the file can't be read or isn't a snapshot of this version
+     */
+    public void read(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt() != SnapshotWriter.MAGIC) {
+            throw new IOException("%s is not a snapshot.".formatted(path));
+        }
+        int version = buffer.getInt();
+        if (version != SnapshotWriter.VERSION) {
+            throw new IOException("Unsupported snapshot version %d.".formatted(version));
+        }
+        admin.updateTimestamp(buffer.getInt());
+        strings = StringTable.readFrom(buffer);
+
+        readSongs();
+        readPodcasts();
+        readArtists();
+        readHosts();
+        readUsers();
+    }
+
+    private void readSongs() {
+        int count = getInt();
+        int catalogSize = getInt();
+        int[] names = getInts(count);
+        int[] durations = getInts(count);
+        int[] albums = getInts(count);
+        int[] lyrics = getInts(count);
+        int[] genres = getInts(count);
+        int[] releaseYears = getInts(count);
+        int[] artists = getInts(count);
+        int[] tagCounts = getInts(count);
+        int[] tags = getInts(getInt());
+
+        int tag = 0;
+        for (int i = 0; i < count; i++) {
+            ArrayList<String> songTags = new ArrayList<>(tagCounts[i]);
+            for (int j = 0; j < tagCounts[i]; j++) {
+                songTags.add(string(tags[tag++]));
+            }
+
+            Song song = new Song(string(names[i]), durations[i], string(albums[i]), songTags,
+                    string(lyrics[i]), string(genres[i]), releaseYears[i], string(artists[i]));
+            songs.add(song);
+        }
+        admin.registerSongs(songs.subList(0, catalogSize));
+    }
+
+    private void readPodcasts() {
+        int count = getInt();
+        for (int i = 0; i < count; i++) {
+            String name = getString();
+            String owner = getString();
+            int episodeCount = getInt();
+            List<Episode> episodes = new ArrayList<>(episodeCount);
+            for (int j = 0; j < episodeCount; j++) {
+                episodes.add(new Episode(getString(), getInt(), getString()));
+            }
+
+            Podcast podcast = new Podcast(name, owner, episodes);
+            podcasts.add(podcast);
+        }
+        admin.registerPodcasts(podcasts);
+    }
+
+    private void readArtists() {
+        int count = getInt();
+        for (int i = 0; i < count; i++) {
+            Artist artist = new Artist(getString(), getInt(), getString());
+            artist.setDescription(getString());
+
+            int albumCount = getInt();
+            for (int j = 0; j < albumCount; j++) {
+                String name = getString();
+                String description = getString();
+                int releaseYear = getInt();
+                artist.getAlbums().add(new Album(name, description, artist.getUsername(),
+                        getSongList(), releaseYear));
+            }
+
+            int merchCount = getInt();
+            for (int j = 0; j < merchCount; j++) {
+                artist.addMerch(new Merchandise(getString(), artist.getUsername(), getString(),
+                        getInt()));
+            }
+
+            int eventCount = getInt();
+            for (int j = 0; j < eventCount; j++) {
+                artist.addEvent(new Event(getString(), artist.getUsername(), getString(),
+                        getInt()));
+            }
+
+            getCounts(artist.getBestAlbums());
+            getCounts(artist.getBestSongs());
+            getCounts(artist.getFans());
+            getCounts(artist.getListeners());
+            getCounts(artist.getCities());
+
+            artist.getRevenue().addMerchRevenue(buffer.getDouble());
+            int songRevenueCount = getInt();
+            for (int j = 0; j < songRevenueCount; j++) {
+                artist.getRevenue().addSongRevenue(getString(), buffer.getDouble());
+            }
+            admin.registerArtist(artist);
+        }
+    }
+
+    private void readHosts() {
+        int count = getInt();
+        for (int i = 0; i < count; i++) {
+            Host host = new Host(getString(), getInt(), getString());
+            host.setDescription(getString());
+            for (int podcast : getInts(getInt())) {
+                host.getPodcasts().add(podcasts.get(podcast));
+            }
+
+            int announcementCount = getInt();
+            for (int j = 0; j < announcementCount; j++) {
+                host.getAnnouncements().add(new Announcement(getString(), getString()));
+            }
+
+            getCounts(host.getEpisodeListens());
+            getStrings(host.getListeners());
+            admin.registerHost(host);
+        }
+    }
+
+    private void readUsers() {
+        int count = getInt();
+        List<User> offline = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User(getString(), getInt(), getString());
+            admin.registerUser(user);
+            if (getInt() == 0) {
+                offline.add(user);
+            }
+            if (getInt() != 0) {
+                user.buyPremium();
+            }
+
+            int playlistCount = getInt();
+            for (int j = 0; j < playlistCount; j++) {
+                user.createPlaylist(getString(), getInt());
+                Enums.Visibility visibility = Enums.Visibility.values()[getInt()];
+                if (visibility != Enums.Visibility.PUBLIC) {
+                    user.switchPlaylistVisibility(j + 1);
+                }
+
+                Playlist playlist = user.getPlaylists().get(j);
+                getSongList().forEach(playlist::addSong);
+            }
+
+            int recommendationCount = getInt();
+            for (int j = 0; j < recommendationCount; j++) {
+                Playlist playlist = new Playlist(getString(), user.getUsername());
+                getSongList().forEach(playlist::addSong);
+                user.getPlaylistRecommendations().add(playlist);
+            }
+        }
+
+        for (User user : admin.getUsers()) {
+            for (Song song : getSongList()) {
+                user.getLikedSongs().add(song);
+                admin.getGenreIndex().updateLikes(song, () -> song.like(user));
+            }
+
+            int followCount = getInt();
+            for (int j = 0; j < followCount; j++) {
+                Playlist playlist = (Playlist) getEntry();
+                user.getFollowedPlaylists().add(playlist);
+                playlist.addFollower(user);
+            }
+
+            getCounts(user.getArtistNames());
+            getCounts(user.getGenreName());
+            getCounts(user.getSongName());
+            getCounts(user.getAlbumName());
+            getCounts(user.getEpisodeListens());
+            readListens(user.getPremiumListens());
+            readListens(user.getFreeListens());
+            readPlayer(user.getPlayer());
+
+            int subscriptionCount = getInt();
+            for (int j = 0; j < subscriptionCount; j++) {
+                ContentCreator creator = (ContentCreator) getEntry();
+                user.getSubscriptions().add(creator);
+                creator.getSubscribers().add(user);
+                admin.getNotificationCenter().subscribe(user, creator);
+            }
+            int notificationCount = getInt();
+            for (int j = 0; j < notificationCount; j++) {
+                user.getInbox().add(new Notification(getString(), getString()));
+            }
+            user.setCurrentPage(getPage(user));
+            List<Page> back = new ArrayList<>();
+            int backCount = getInt();
+            for (int j = 0; j < backCount; j++) {
+                back.add(getPage(user));
+            }
+            List<Page> forward = new ArrayList<>();
+            int forwardCount = getInt();
+            for (int j = 0; j < forwardCount; j++) {
+                forward.add(getPage(user));
+            }
+            user.getPageHistory().restore(back, forward);
+
+            readSearch(user);
+            user.getSongRecommendations().addAll(getSongList());
+            user.setLastRecommendation((LibraryEntry) getEntry());
+            user.setLastRecommendationType(getString());
+
+            int purchaseCount = getInt();
+            for (int j = 0; j < purchaseCount; j++) {
+                user.getPurchasedMerch().add(getMerch(getString(), getString()));
+            }
+        }
+
+        offline.forEach(admin::switchStatus);
+    }
+
+    private void readPlayer(final Player player) {
+        String type = null;
+        PlayerSource source = null;
+        if (getInt() == SnapshotWriter.HAS_SOURCE) {
+            type = getString();
+            source = Player.createSource(type, (LibraryEntry) getEntry(),
+                    player.getBookmarks());
+            int index = getInt();
+            int indexShuffled = getInt();
+            int remainedDuration = getInt();
+            int accountedIndex = getInt();
+            source.restorePosition(index, indexShuffled, remainedDuration, accountedIndex,
+                    getInts(getInt()));
+        }
+
+        Enums.RepeatMode repeatMode = Enums.RepeatMode.values()[getInt()];
+        boolean shuffle = getInt() != 0;
+        boolean paused = getInt() != 0;
+        player.restore(type, source, repeatMode, shuffle, paused);
+        player.restoreAd(getInt() != 0, getInt(), getInt());
+
+        int bookmarkCount = getInt();
+        for (int i = 0; i < bookmarkCount; i++) {
+            player.getBookmarks().put(podcasts.get(getInt()), getInt(), getInt());
+        }
+    }
+
+    private Page getPage(final User user) {
+        int kind = getInt();
+        int first = getInt();
+        int second = getInt();
+        return switch (kind) {
+            case SnapshotWriter.HOME_PAGE -> user.getHomePage();
+            case SnapshotWriter.LIKED_CONTENT_PAGE -> user.getLikedContentPage();
+            default -> ((ContentCreator) resolve(kind, first, second)).getPage();
+        };
+    }
+
+    /**
+     * Reads a search; results removed from the library before the snapshot, other than songs,
+     * were written as none and are dropped.
+     */
+    private void readSearch(final User user) {
+        user.setLastSearched(getInt() != 0);
+        String searchType = getString();
+        List<LibraryEntry> results = new ArrayList<>();
+        int resultCount = getInt();
+        for (int i = 0; i < resultCount; i++) {
+            LibraryEntry result = (LibraryEntry) getEntry();
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        List<ContentCreator> creators = new ArrayList<>();
+        int creatorCount = getInt();
+        for (int i = 0; i < creatorCount; i++) {
+            ContentCreator creator = (ContentCreator) getEntry();
+            if (creator != null) {
+                creators.add(creator);
+            }
+        }
+        user.getSearchBar().restore(results, creators, searchType,
+                (LibraryEntry) getEntry(), (ContentCreator) getEntry());
+    }
+
+    private void readListens(final ListeningWindow window) {
+        int size = getInt();
+        for (int i = 0; i < size; i++) {
+            window.record(songs.get(getInt()), getInt());
+        }
+    }
+
+    /**
+     * Reads a reference written by {@code SnapshotWriter}: a kind and up to two positions.
+     */
+    private Object getEntry() {
+        return resolve(getInt(), getInt(), getInt());
+    }
+
+    private Object resolve(final int kind, final int first, final int second) {
+        return switch (kind) {
+            case SnapshotWriter.NONE -> null;
+            case SnapshotWriter.SONG -> songs.get(first);
+            case SnapshotWriter.PODCAST -> podcasts.get(first);
+            case SnapshotWriter.ALBUM -> admin.getArtists().get(first).getAlbums().get(second);
+            case SnapshotWriter.PLAYLIST -> admin.getUsers().get(first).getPlaylists()
+                    .get(second);
+            case SnapshotWriter.RECOMMENDED_PLAYLIST -> admin.getUsers().get(first)
+                    .getPlaylistRecommendations().get(second);
+            case SnapshotWriter.ARTIST -> admin.getArtists().get(first);
+            case SnapshotWriter.HOST -> admin.getHosts().get(first);
+            default -> throw new IllegalStateException("Unknown reference kind " + kind);
+        };
+    }
+
+    /**
+     * Resolves a purchase to the artist's merch. Merch is never removed, but its artist may
+     * have been deleted, in which case the purchase keeps only the name it is listed by.
+     */
+    private Merchandise getMerch(final String owner, final String name) {
+        Artist artist = admin.getArtist(owner);
+        Merchandise merch = artist == null ? null : artist.getMerch(name);
+        return merch != null ? merch : new Merchandise(name, owner, "", 0);
+    }
+
+    private List<Song> getSongList() {
+        List<Song> list = new ArrayList<>();
+        for (int song : getInts(getInt())) {
+            list.add(songs.get(song));
+        }
+        return list;
+    }
+
+    private void getCounts(final Map<String, Integer> counts) {
+        int size = getInt();
+        for (int i = 0; i < size; i++) {
+            counts.put(getString(), getInt());
+        }
+    }
+
+    private void getCounts(final ListenRanking ranking) {
+        int size = getInt();
+        for (int i = 0; i < size; i++) {
+            ranking.add(getString(), getInt());
+        }
+    }
+
+    private void getStrings(final Collection<String> values) {
+        int size = getInt();
+        for (int i = 0; i < size; i++) {
+            values.add(getString());
+        }
+    }
+
+    private String getString() {
+        return string(getInt());
+    }
+
+    private String string(final int id) {
+        return id == StringTable.NULL_ID ? null : strings[id];
+    }
+
+    private int[] getInts(final int count) {
+        int[] values = new int[count];
+        IntBuffer ints = buffer.asIntBuffer();
+        ints.get(values);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private int getInt() {
+        return buffer.getInt();
+    }
+}
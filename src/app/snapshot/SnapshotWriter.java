@@ -0,0 +1,496 @@
+package app.snapshot;
+
+import app.Admin;
+import app.audio.Collections.Album;
+import app.audio.Collections.Playlist;
+import app.audio.Collections.Podcast;
+import app.audio.Files.Episode;
+import app.audio.Files.Song;
+import app.monetization.ArtistRevenue;
+import app.monetization.ListeningWindow;
+import app.notifications.Notification;
+import app.pages.Page;
+import app.player.Player;
+import app.player.PlayerSource;
+import app.searchBar.SearchBar;
+import app.user.Announcement;
+import app.user.Artist;
+import app.user.ContentCreator;
+import app.user.Event;
+import app.user.Host;
+import app.user.Merchandise;
+import app.user.User;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Writes the state of an {@link Admin} as a binary snapshot.
+ *
+ * <p>The file starts with a header (magic, format version, timestamp) and the string table;
+ * the body that follows refers to strings by id and to songs, podcasts, albums, playlists and
+ * content creators by their kind and position in the catalog or in their owner's lists.
+ * Song columns are written as primitive arrays and counters are written in key order, so
+ * saving the same state twice gives the same bytes. Everything is big-endian, as
+ * {@link ByteBuffer} writes by default.
+ */
+public final class SnapshotWriter {
+    static final int MAGIC = 0x47575331;
+    static final int VERSION = 5;
+    static final int NO_SOURCE = 0;
+    static final int HAS_SOURCE = 1;
+    static final int NONE = -1;
+    static final int SONG = 0;
+    static final int PODCAST = 1;
+    static final int ALBUM = 2;
+    static final int PLAYLIST = 3;
+    static final int RECOMMENDED_PLAYLIST = 4;
+    static final int ARTIST = 5;
+    static final int HOST = 6;
+    static final int HOME_PAGE = 7;
+    static final int LIKED_CONTENT_PAGE = 8;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    private final Admin admin;
+    private final StringTable strings = new StringTable();
+    private final Map<Song, Integer> songIds = new IdentityHashMap<>();
+    private final Map<Podcast, Integer> podcastIds = new IdentityHashMap<>();
+    private final Map<Object, int[]> refs = new IdentityHashMap<>();
+    private ByteBuffer body = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+    /**
+     * Instantiates a new Snapshot writer.
+     *
+     * @param admin the admin to save
+     */
+    public SnapshotWriter(final Admin admin) {
+        this.admin = admin;
+    }
+
+    /**
+     * Writes the snapshot, replacing the file if it exists.
+     *
+     * @param path the file
+     * @throws IOException if the file can't be written
+     */
+    public void write(final Path path) throws IOException {
+        List<Song> catalog = admin.getSongs();
+        List<Song> songs = new ArrayList<>(catalog);
+        songs.addAll(removedSongs(catalog));
+        writeSongs(songs, catalog.size());
+        writePodcasts(admin.getPodcasts());
+        writeArtists(admin.getArtists());
+        writeHosts(admin.getHosts());
+        writeUsers(admin.getUsers());
+        body.flip();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + strings.serializedSize());
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(admin.getTimestamp());
+        strings.writeTo(header);
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer[] buffers = {header, body};
+            while (header.hasRemaining() || body.hasRemaining()) {
+                channel.write(buffers);
+            }
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Songs removed from the catalog can still wait in a listening window for the next
+     * payout, stay in a recommendation or in a search; they are written after the catalog
+     * songs but not registered on restore.
+     */
+    private Set<Song> removedSongs(final List<Song> catalog) {
+        Set<Song> inCatalog = Collections.newSetFromMap(new IdentityHashMap<>());
+        inCatalog.addAll(catalog);
+
+        Set<Song> removed = new LinkedHashSet<>();
+        for (User user : admin.getUsers()) {
+            List<Song> referenced = new ArrayList<>(user.getSongRecommendations());
+            user.getPremiumListens().forEach((song, count) -> referenced.add(song));
+            user.getFreeListens().forEach((song, count) -> referenced.add(song));
+            user.getPlaylistRecommendations().forEach(playlist ->
+                    referenced.addAll(playlist.getSongs()));
+            SearchBar searchBar = user.getSearchBar();
+            List<Object> searched = new ArrayList<>(searchBar.getResults());
+            searched.add(searchBar.getLastSelected());
+            searched.add(user.getLastRecommendation());
+            searched.stream()
+                    .filter(Song.class::isInstance)
+                    .map(Song.class::cast)
+                    .forEach(referenced::add);
+
+            referenced.stream()
+                    .filter(song -> !inCatalog.contains(song))
+                    .forEach(removed::add);
+        }
+        return removed;
+    }
+
+    private void writeSongs(final List<Song> songs, final int catalogSize) {
+        int[] names = new int[songs.size()];
+        int[] durations = new int[songs.size()];
+        int[] albums = new int[songs.size()];
+        int[] lyrics = new int[songs.size()];
+        int[] genres = new int[songs.size()];
+        int[] releaseYears = new int[songs.size()];
+        int[] artists = new int[songs.size()];
+        int[] tagCounts = new int[songs.size()];
+        int tagTotal = 0;
+
+        for (int i = 0; i < songs.size(); i++) {
+            Song song = songs.get(i);
+            songIds.put(song, i);
+            refs.put(song, new int[] {SONG, i, 0});
+            names[i] = strings.intern(song.getName());
+            durations[i] = song.getDuration();
+            albums[i] = strings.intern(song.getAlbum());
+            lyrics[i] = strings.intern(song.getLyrics());
+            genres[i] = strings.intern(song.getGenre());
+            releaseYears[i] = song.getReleaseYear();
+            artists[i] = strings.intern(song.getArtist());
+            tagCounts[i] = song.getTags().size();
+            tagTotal += tagCounts[i];
+        }
+
+        int[] tags = new int[tagTotal];
+        int tag = 0;
+        for (Song song : songs) {
+            for (String name : song.getTags()) {
+                tags[tag++] = strings.intern(name);
+            }
+        }
+
+        putInt(songs.size());
+        putInt(catalogSize);
+        for (int[] column : new int[][] {names, durations, albums, lyrics, genres,
+                releaseYears, artists, tagCounts}) {
+            putInts(column);
+        }
+        putIntArray(tags);
+    }
+
+    private void writePodcasts(final List<Podcast> podcasts) {
+        putInt(podcasts.size());
+        for (int i = 0; i < podcasts.size(); i++) {
+            Podcast podcast = podcasts.get(i);
+            podcastIds.put(podcast, i);
+            refs.put(podcast, new int[] {PODCAST, i, 0});
+            putString(podcast.getName());
+            putString(podcast.getOwner());
+            putInt(podcast.getEpisodes().size());
+            for (Episode episode : podcast.getEpisodes()) {
+                putString(episode.getName());
+                putInt(episode.getDuration());
+                putString(episode.getDescription());
+            }
+        }
+    }
+
+    private void writeArtists(final List<Artist> artists) {
+        putInt(artists.size());
+        for (int i = 0; i < artists.size(); i++) {
+            Artist artist = artists.get(i);
+            refs.put(artist, new int[] {ARTIST, i, 0});
+            writeCreator(artist);
+
+            List<Album> albums = artist.getAlbums();
+            putInt(albums.size());
+            for (int j = 0; j < albums.size(); j++) {
+                Album album = albums.get(j);
+                refs.put(album, new int[] {ALBUM, i, j});
+                putString(album.getName());
+                putString(album.getDescription());
+                putInt(album.getReleaseYear());
+                putIntArray(album.getSongs().stream().mapToInt(songIds::get).toArray());
+            }
+
+            Collection<Merchandise> merch = artist.getMerch();
+            putInt(merch.size());
+            for (Merchandise item : merch) {
+                putString(item.getName());
+                putString(item.getDescription());
+                putInt(item.getPrice());
+            }
+
+            putInt(artist.getEvents().size());
+            for (Event event : artist.getEvents()) {
+                putString(event.getName());
+                putString(event.getDescription());
+                putInt(event.getDate());
+            }
+
+            putCounts(artist.getBestAlbums());
+            putCounts(artist.getBestSongs());
+            putCounts(artist.getBestFans());
+            putCounts(artist.getListeners());
+            putCounts(artist.getCities());
+
+            ArtistRevenue revenue = artist.getRevenue();
+            putDouble(revenue.getMerchRevenue());
+            Map<String, Double> songRevenues = new TreeMap<>();
+            revenue.forEachSongRevenue(songRevenues::put);
+            putInt(songRevenues.size());
+            songRevenues.forEach((song, amount) -> {
+                putString(song);
+                putDouble(amount);
+            });
+        }
+    }
+
+    private void writeHosts(final List<Host> hosts) {
+        putInt(hosts.size());
+        for (int i = 0; i < hosts.size(); i++) {
+            Host host = hosts.get(i);
+            refs.put(host, new int[] {HOST, i, 0});
+            writeCreator(host);
+            putIntArray(host.getPodcasts().stream().mapToInt(podcastIds::get).toArray());
+
+            putInt(host.getAnnouncements().size());
+            for (Announcement announcement : host.getAnnouncements()) {
+                putString(announcement.getName());
+                putString(announcement.getDescription());
+            }
+
+            putCounts(host.getEpisodeListens().getCounts());
+            putInt(host.getListeners().size());
+            new TreeSet<>(host.getListeners()).forEach(this::putString);
+        }
+    }
+
+    private void writeCreator(final ContentCreator creator) {
+        putString(creator.getUsername());
+        putInt(creator.getAge());
+        putString(creator.getCity());
+        putString(creator.getDescription());
+    }
+
+    private void writeUsers(final List<User> users) {
+        putInt(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            putString(user.getUsername());
+            putInt(user.getAge());
+            putString(user.getCity());
+            putBoolean(user.isStatus());
+            putBoolean(user.isPremium());
+
+            List<Playlist> playlists = user.getPlaylists();
+            putInt(playlists.size());
+            for (int j = 0; j < playlists.size(); j++) {
+                Playlist playlist = playlists.get(j);
+                refs.put(playlist, new int[] {PLAYLIST, i, j});
+                putString(playlist.getName());
+                putInt(playlist.getTimestamp());
+                putInt(playlist.getVisibility().ordinal());
+                putIntArray(playlist.getSongs().stream().mapToInt(songIds::get).toArray());
+            }
+
+            List<Playlist> recommendations = user.getPlaylistRecommendations();
+            putInt(recommendations.size());
+            for (int j = 0; j < recommendations.size(); j++) {
+                Playlist playlist = recommendations.get(j);
+                refs.put(playlist, new int[] {RECOMMENDED_PLAYLIST, i, j});
+                putString(playlist.getName());
+                putIntArray(playlist.getSongs().stream().mapToInt(songIds::get).toArray());
+            }
+        }
+
+        for (User user : users) {
+            putIntArray(user.getLikedSongs().stream().mapToInt(songIds::get).toArray());
+            putInt(user.getFollowedPlaylists().size());
+            user.getFollowedPlaylists().forEach(this::putEntry);
+
+            putCounts(user.getArtistNames());
+            putCounts(user.getGenreName());
+            putCounts(user.getSongName());
+            putCounts(user.getAlbumName());
+            putCounts(user.getEpisodeListens().getCounts());
+            writeListens(user.getPremiumListens());
+            writeListens(user.getFreeListens());
+            writePlayer(user.getPlayer());
+
+            putInt(user.getSubscriptions().size());
+            user.getSubscriptions().forEach(this::putEntry);
+            List<Notification> notifications = user.getInbox().getNotifications();
+            putInt(notifications.size());
+            for (Notification notification : notifications) {
+                putString(notification.getName());
+                putString(notification.getDescription());
+            }
+            putPage(user, user.getCurrentPage());
+            List<Page> back = user.getPageHistory().getBack();
+            putInt(back.size());
+            back.forEach(page -> putPage(user, page));
+            List<Page> forward = user.getPageHistory().getForward();
+            putInt(forward.size());
+            forward.forEach(page -> putPage(user, page));
+
+            writeSearch(user);
+            putIntArray(user.getSongRecommendations().stream().mapToInt(songIds::get)
+                    .toArray());
+            putEntry(user.getLastRecommendation());
+            putString(user.getLastRecommendationType());
+
+            putInt(user.getPurchasedMerch().size());
+            for (Merchandise merch : user.getPurchasedMerch()) {
+                putString(merch.getOwner());
+                putString(merch.getName());
+            }
+        }
+    }
+
+    private void writePlayer(final Player player) {
+        PlayerSource source = player.getSource();
+        if (source == null) {
+            putInt(NO_SOURCE);
+        } else {
+            putInt(HAS_SOURCE);
+            putString(player.getType());
+            putEntry("song".equals(player.getType()) ? source.getAudioFile()
+                    : source.getAudioCollection());
+            putInt(source.getIndex());
+            putInt(source.getIndexShuffled());
+            putInt(source.getDuration());
+            putInt(source.getAccountedIndex());
+            putIntArray(source.getShuffleOrder());
+        }
+
+        putInt(player.getRepeatMode().ordinal());
+        putBoolean(player.getShuffle());
+        putBoolean(player.getPaused());
+        putBoolean(player.isAdPending());
+        putInt(player.getAdPrice());
+        putInt(player.getAdRemainedDuration());
+
+        // Podcasts removed from the catalog can't be played again, so their bookmarks go.
+        List<int[]> bookmarks = new ArrayList<>();
+        player.getBookmarks().forEach((podcast, episode, remainedDuration) -> {
+            int[] ref = refs.get(podcast);
+            if (ref != null) {
+                bookmarks.add(new int[] {ref[1], episode, remainedDuration});
+            }
+        });
+        putInt(bookmarks.size());
+        bookmarks.forEach(this::putInts);
+    }
+
+    private void putPage(final User user, final Page page) {
+        if (page == user.getLikedContentPage()) {
+            putRef(new int[] {LIKED_CONTENT_PAGE, 0, 0});
+        } else if (page.getContentCreator() != null) {
+            putEntry(page.getContentCreator());
+        } else {
+            putRef(new int[] {HOME_PAGE, 0, 0});
+        }
+    }
+
+    private void writeSearch(final User user) {
+        SearchBar searchBar = user.getSearchBar();
+        putBoolean(user.isLastSearched());
+        putString(searchBar.getLastSearchType());
+        putInt(searchBar.getResults().size());
+        searchBar.getResults().forEach(this::putEntry);
+        putInt(searchBar.getResultsContentCreator().size());
+        searchBar.getResultsContentCreator().forEach(this::putEntry);
+        putEntry(searchBar.getLastSelected());
+        putEntry(searchBar.getLastContentCreatorSelected());
+    }
+
+    private void writeListens(final ListeningWindow window) {
+        putInt(window.size());
+        window.forEach((song, count) -> {
+            putInt(songIds.get(song));
+            putInt(count);
+        });
+    }
+
+    private void putCounts(final Map<String, Integer> counts) {
+        putInt(counts.size());
+        new TreeMap<>(counts).forEach((key, count) -> {
+            putString(key);
+            putInt(count);
+        });
+    }
+
+    /**
+     * Writes a reference to an entry. Entries removed from the library other than songs, such
+     * as a playlist of a deleted user still in another user's search results, are written as
+     * {@link #NONE} and dropped on restore.
+     */
+    private void putEntry(final Object entry) {
+        int[] ref = entry == null ? null : refs.get(entry);
+        putRef(ref == null ? new int[] {NONE, 0, 0} : ref);
+    }
+
+    private void putRef(final int[] ref) {
+        putInts(ref);
+    }
+
+    private void putString(final String value) {
+        putInt(strings.intern(value));
+    }
+
+    private void putBoolean(final boolean value) {
+        putInt(value ? 1 : 0);
+    }
+
+    private void putIntArray(final int[] values) {
+        putInt(values.length);
+        putInts(values);
+    }
+
+    private void putInts(final int[] values) {
+        ensureCapacity((long) values.length * Integer.BYTES);
+        body.asIntBuffer().put(values);
+        body.position(body.position() + values.length * Integer.BYTES);
+    }
+
+    private void putDouble(final double value) {
+        ensureCapacity(Double.BYTES);
+        body.putDouble(value);
+    }
+
+    private void putInt(final int value) {
+        ensureCapacity(Integer.BYTES);
+        body.putInt(value);
+    }
+
+    private void ensureCapacity(final long bytes) {
+        if (body.remaining() >= bytes) {
+            return;
+        }
+
+        long needed = body.position() + bytes;
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalStateException("The snapshot needs %d bytes, more than %d."
+                    .formatted(needed, MAX_CAPACITY));
+        }
+        int capacity = (int) Math.min(Math.max(body.capacity() * 2L, needed), MAX_CAPACITY);
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        body.flip();
+        grown.put(body);
+        body = grown;
+    }
+}
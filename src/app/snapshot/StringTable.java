@@ -0,0 +1,78 @@
+package app.snapshot;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deduplicated strings of a snapshot; the snapshot body refers to them by id.
+ */
+final class StringTable {
+    static final int NULL_ID = -1;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<byte[]> encoded = new ArrayList<>();
+    private int encodedSize = 0;
+
+    /**
+     * Gets the id of a string, adding it to the table if needed.
+     *
+     * @param value the string, may be null
+     * @return the id
+     */
+    int intern(final String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+
+        Integer id = ids.get(value);
+        if (id == null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            id = encoded.size();
+            ids.put(value, id);
+            encoded.add(bytes);
+            encodedSize += Integer.BYTES + bytes.length;
+        }
+        return id;
+    }
+
+    /**
+     * Gets the size of the serialized table.
+     *
+     * @return the size in bytes
+     */
+    int serializedSize() {
+        return Integer.BYTES + encodedSize;
+    }
+
+    /**
+     * Writes the table: the string count, then every string as a length-prefixed UTF-8 run.
+     *
+     * @param buffer the buffer
+     */
+    void writeTo(final ByteBuffer buffer) {
+        buffer.putInt(encoded.size());
+        for (byte[] bytes : encoded) {
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Reads a table written by {@link #writeTo(ByteBuffer)}.
+     *
+     * @param buffer the buffer
+     * @return the strings, indexed by id
+     */
+    static String[] readFrom(final ByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+}
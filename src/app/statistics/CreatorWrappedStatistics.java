@@ -0,0 +1,36 @@
+package app.statistics;
+
+import app.Admin;
+import app.audio.Files.Episode;
+import app.audio.Files.Song;
+import app.user.Artist;
+import app.user.Host;
+import app.user.User;
+
+import java.util.List;
+
+/**
+ * Counts, per artist, the albums and songs listened to and who listened to them from where,
+ * and, per host, the episodes listened to.
+ */
+public final class CreatorWrappedStatistics implements ListenConsumer {
+    @Override
+    public void consume(final List<ListenEvent> events) {
+        Admin admin = Admin.getInstance();
+        for (ListenEvent event : events) {
+            User user = event.getUser();
+            if (event.getTrack() instanceof Song song) {
+                Artist artist = admin.getOrAddArtist(event.getOwner());
+                artist.incrementMap(artist.getBestAlbums(), song.getAlbum());
+                artist.incrementMap(artist.getBestSongs(), song.getName());
+                artist.incrementMap(artist.getListeners(), user.getUsername());
+                artist.incrementMap(artist.getCities(), user.getCity());
+            } else {
+                Host host = admin.getHost(event.getOwner());
+                if (host != null) {
+                    host.recordListen((Episode) event.getTrack(), user.getUsername());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package app.statistics;
+
+import java.util.List;
+
+/**
+ * A statistic fed by listen events.
+ */
+@FunctionalInterface
+public interface ListenConsumer {
+    /**
+     * Processes a batch of listen events, in the order they happened.
+     *
+     * @param events the events
+     */
+    void consume(List<ListenEvent> events);
+}
@@ -0,0 +1,28 @@
+package app.statistics;
+
+import app.audio.Files.AudioFile;
+import app.user.User;
+import lombok.Getter;
+
+/**
+ * A user starting to listen to a track.
+ */
+@Getter
+public final class ListenEvent {
+    private final User user;
+    private final AudioFile track;
+    private final String owner;
+
+    /**
+     * Instantiates a new Listen event.
+     *
+     * @param user  the listening user
+     * @param track the track, a song or an episode
+     * @param owner the username of the track's artist or host
+     */
+    public ListenEvent(final User user, final AudioFile track, final String owner) {
+        this.user = user;
+        this.track = track;
+        this.owner = owner;
+    }
+}
@@ -0,0 +1,47 @@
+package app.statistics;
+
+import app.utils.DeferredEffects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Buffers listen events and hands them to every registered consumer in batches.
+ * Consumers run in registration order, each seeing the whole batch.
+ */
+public final class ListenPipeline {
+    private final List<ListenConsumer> consumers = new ArrayList<>();
+    private List<ListenEvent> pending = new ArrayList<>();
+
+    /**
+     * Register a consumer.
+     *
+     * @param consumer the consumer
+     */
+    public void register(final ListenConsumer consumer) {
+        consumers.add(consumer);
+    }
+
+    /**
+     * Queues an event until the next flush, once the effects of its thread are applied.
+     *
+     * @param event the event
+     */
+    public void emit(final ListenEvent event) {
+        DeferredEffects.apply(() -> pending.add(event));
+    }
+
+    /**
+     * Delivers the queued events to the consumers.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<ListenEvent> batch = Collections.unmodifiableList(pending);
+        pending = new ArrayList<>();
+        consumers.forEach(consumer -> consumer.consume(batch));
+    }
+}
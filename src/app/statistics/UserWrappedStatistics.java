@@ -0,0 +1,26 @@
+package app.statistics;
+
+import app.audio.Files.Song;
+import app.user.User;
+
+import java.util.List;
+
+/**
+ * Counts, per user, the artists, genres, songs, albums and episodes listened to.
+ */
+public final class UserWrappedStatistics implements ListenConsumer {
+    @Override
+    public void consume(final List<ListenEvent> events) {
+        for (ListenEvent event : events) {
+            User user = event.getUser();
+            if (event.getTrack() instanceof Song song) {
+                user.incrementMap(user.getAlbumName(), song.getAlbum());
+                user.incrementMap(user.getGenreName(), song.getGenre());
+                user.incrementMap(user.getArtistNames(), song.getArtist());
+                user.incrementMap(user.getSongName(), song.getName());
+            } else {
+                user.getEpisodeListens().increment(event.getTrack().getName());
+            }
+        }
+    }
+}
@@ -5,7 +5,9 @@ package app.user;
 import app.audio.Collections.Album;
 import app.audio.Collections.AlbumOutput;
 import app.audio.Files.Song;
+import app.monetization.ArtistRevenue;
 import app.pages.ArtistPage;
+import app.recommendations.ListenRanking;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -14,9 +16,13 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 import java.util.LinkedHashMap;
 
 /**
@@ -24,8 +30,9 @@ import java.util.LinkedHashMap;
  */
 public final class Artist extends ContentCreator {
     private ArrayList<Album> albums;
-    private ArrayList<Merchandise> merch;
-    private ArrayList<Event> events;
+    private final Map<String, Merchandise> merch = new LinkedHashMap<>();
+    private final Map<String, Event> events = new LinkedHashMap<>();
+    private final NavigableSet<Event> eventsByDate = new TreeSet<>(Event.BY_DATE);
     private final int wrappedLimit = 5;
     @Getter
     @Setter
@@ -34,14 +41,15 @@ public final class Artist extends ContentCreator {
     @Setter
     private Map<String, Integer> bestSongs = new HashMap<>();
     @Getter
-    @Setter
-    private Map<String, Integer> bestFans = new HashMap<>();
+    private final ListenRanking fans = new ListenRanking();
     @Getter
     @Setter
     private Map<String, Integer> listeners = new HashMap<>();
     @Getter
     @Setter
     private Map<String, Integer> cities = new HashMap<>();
+    @Getter
+    private final ArtistRevenue revenue = new ArtistRevenue();
 
     /**
      * Instantiates a new Artist.
@@ -53,12 +61,19 @@ public final class Artist extends ContentCreator {
     public Artist(final String username, final int age, final String city) {
         super(username, age, city);
         albums = new ArrayList<>();
-        merch = new ArrayList<>();
-        events = new ArrayList<>();
 
         super.setPage(new ArtistPage(this));
     }
 
+    /**
+     * Gets best fans.
+     *
+     * @return the listen count of every fan
+     */
+    public Map<String, Integer> getBestFans() {
+        return fans.getCounts();
+    }
+
     /**
      * Gets albums.
      *
@@ -71,35 +86,96 @@ public final class Artist extends ContentCreator {
     /**
      * Gets merch.
      *
-     * @return the merch
+     * @return the merch, in the order it was added
+     */
+    public Collection<Merchandise> getMerch() {
+        return Collections.unmodifiableCollection(merch.values());
+    }
+
+    /**
+     * Gets merch by name.
+     *
+     * @param merchName the merch name
+     * @return the merch, or null if the artist doesn't sell it
+     */
+    public Merchandise getMerch(final String merchName) {
+        return merch.get(merchName);
+    }
+
+    /**
+     * Add merch.
+     *
+     * @param merchandise the merchandise
+     * @return false if the artist already sells merch with the same name
      */
-    public ArrayList<Merchandise> getMerch() {
-        return merch;
+    public boolean addMerch(final Merchandise merchandise) {
+        if (merch.putIfAbsent(merchandise.getName(), merchandise) != null) {
+            return false;
+        }
+
+        invalidatePage();
+        return true;
     }
 
     /**
      * Gets events.
      *
-     * @return the events
+     * @return the events, in the order they were added
      */
-    public ArrayList<Event> getEvents() {
-        return events;
+    public Collection<Event> getEvents() {
+        return Collections.unmodifiableCollection(events.values());
     }
 
     /**
      * Gets event.
      *
      * @param eventName the event name
-     * @return the event
+     * @return the event, or null if the artist doesn't have it
      */
     public Event getEvent(final String eventName) {
-        for (Event event : events) {
-            if (event.getName().equals(eventName)) {
-                return event;
-            }
+        return events.get(eventName);
+    }
+
+    /**
+     * Gets the events between two dates.
+     *
+     * @param from the first date, packed as by {@link EventDate}
+     * @param to   the last date, packed as by {@link EventDate}
+     * @return the events, by date
+     */
+    public NavigableSet<Event> getEventsBetween(final int from, final int to) {
+        if (from > to) {
+            return Collections.emptyNavigableSet();
+        }
+        return Collections.unmodifiableNavigableSet(eventsByDate.subSet(
+                Event.firstOn(from), true, Event.firstOn(to + 1), false));
+    }
+
+    /**
+     * Add event.
+     *
+     * @param event the event
+     * @return false if the artist already has an event with the same name
+     */
+    public boolean addEvent(final Event event) {
+        if (events.putIfAbsent(event.getName(), event) != null) {
+            return false;
         }
 
-        return null;
+        eventsByDate.add(event);
+        invalidatePage();
+        return true;
+    }
+
+    /**
+     * Remove event.
+     *
+     * @param event the event
+     */
+    public void removeEvent(final Event event) {
+        events.remove(event.getName());
+        eventsByDate.remove(event);
+        invalidatePage();
     }
     /**
      * Increments the value associated with the specified key in the given map.
@@ -171,6 +247,10 @@ public final class Artist extends ContentCreator {
      * the method returns an empty ObjectNode.
      */
     public ObjectNode wrapped(final CommandInput command) {
+        if (listeners.isEmpty()) {
+            return null;
+        }
+
         ObjectMapper objectMapper = new ObjectMapper();
         ObjectNode objectNode = objectMapper.createObjectNode();
 
@@ -213,21 +293,7 @@ public final class Artist extends ContentCreator {
         objectNode.set("topSongs", node);
 
         ArrayNode arrNode = objectMapper.createArrayNode();
-        entryList = new ArrayList<>(bestFans.entrySet());
-
-        entryList.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
-                .thenComparing(Map.Entry.comparingByKey()));
-
-        sortedMap = new LinkedHashMap<>();
-        for (Map.Entry<String, Integer> entry : entryList) {
-            sortedMap.put(entry.getKey(), entry.getValue());
-        }
-        for (int i = 0; i < wrappedLimit; i++) {
-            if (sortedMap.size() <= i) {
-                break;
-            }
-            arrNode.add(sortedMap.keySet().toArray()[i].toString());
-        }
+        fans.getTop(wrappedLimit).forEach(arrNode::add);
 
         objectNode.set("topFans", arrNode);
 
@@ -2,12 +2,18 @@ package app.user;
 
 import app.pages.Page;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 /**
  * The type Content creator.
  */
 public abstract class ContentCreator extends UserAbstract {
     private String description;
     private Page page;
+    private final Set<User> subscribers = new LinkedHashSet<>();
+    private long pageVersion = 0;
+    private boolean deleted = false;
 
     /**
      * Instantiates a new Content creator.
@@ -47,6 +53,47 @@ public abstract class ContentCreator extends UserAbstract {
         return page;
     }
 
+    /**
+     * Gets subscribers.
+     *
+     * @return the subscribers
+     */
+    public Set<User> getSubscribers() {
+        return subscribers;
+    }
+
+    /**
+     * Gets page version.
+     *
+     * @return a counter incremented whenever the content shown on the page changes
+     */
+    public long getPageVersion() {
+        return pageVersion;
+    }
+
+    /**
+     * Marks the content shown on the page as changed.
+     */
+    public void invalidatePage() {
+        pageVersion++;
+    }
+
+    /**
+     * Is deleted boolean.
+     *
+     * @return whether the creator was deleted
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Marks the creator as deleted, so page histories skip its page from then on.
+     */
+    public void markDeleted() {
+        deleted = true;
+    }
+
     /**
      * Sets page.
      *
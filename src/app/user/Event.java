@@ -1,26 +1,49 @@
 package app.user;
 
+import java.util.Comparator;
+
 /**
  * The type Event.
  */
 public class Event {
-    private String name;
+    /**
+     * Orders events by date, then by artist and name, which together identify an event.
+     */
+    public static final Comparator<Event> BY_DATE = Comparator.comparingInt(Event::getDate)
+            .thenComparing(Event::getOwner)
+            .thenComparing(Event::getName);
+
+    private final String name;
+    private final String owner;
     private String description;
-    private String date;
+    private final int date;
 
     /**
      * Instantiates a new Event.
      *
      * @param name        the name
+     * @param owner       the username of the artist
      * @param description the description
-     * @param date        the date
+     * @param date        the date, packed as by {@link EventDate}
      */
-    public Event(final String name, final String description, final String date) {
+    public Event(final String name, final String owner, final String description,
+                 final int date) {
         this.name = name;
+        this.owner = owner;
         this.description = description;
         this.date = date;
     }
 
+    /**
+     * Gets a placeholder ordered before every event on a date, to bound date queries.
+     *
+     * @param date the date, packed as by {@link EventDate}
+     * @return the placeholder
+     */
+    public static Event firstOn(final int date) {
+        return new Event("", "", "", date);
+    }
+
     /**
      * Gets name.
      *
@@ -31,12 +54,12 @@ public class Event {
     }
 
     /**
-     * Sets name.
+     * Gets owner.
      *
-     * @param name the name
+     * @return the username of the artist
      */
-    public void setName(final String name) {
-        this.name = name;
+    public String getOwner() {
+        return owner;
     }
 
     /**
@@ -60,18 +83,18 @@ public class Event {
     /**
      * Gets date.
      *
-     * @return the date
+     * @return the date, packed as by {@link EventDate}
      */
-    public String getDate() {
+    public int getDate() {
         return date;
     }
 
     /**
-     * Sets date.
+     * Gets the date as dd-mm-yyyy.
      *
-     * @param date the date
+     * @return the formatted date
      */
-    public void setDate(final String date) {
-        this.date = date;
+    public String getFormattedDate() {
+        return EventDate.format(date);
     }
 }
@@ -0,0 +1,129 @@
+package app.user;
+
+/**
+ * Event dates packed in an int as yyyymmdd, so they compare, sort and range-query as plain
+ * ints. They are written as dd-mm-yyyy in commands and on pages.
+ */
+public final class EventDate {
+    /**
+     * Returned by {@link #parse(String)} for a date that isn't valid.
+     */
+    public static final int INVALID = -1;
+
+    private static final int LENGTH = 10;
+    private static final int MONTH_START = 3;
+    private static final int YEAR_START = 6;
+    private static final int DAY_DIGITS = 2;
+    private static final int YEAR_DIGITS = 4;
+    private static final int RADIX = 10;
+    private static final int MONTH_FACTOR = 100;
+    private static final int YEAR_FACTOR = 10000;
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 2023;
+    private static final int MIN_MONTH = 1;
+    private static final int MAX_MONTH = 12;
+    private static final int FEBRUARY = 2;
+    private static final int MIN_DAY = 1;
+    private static final int MAX_DAY = 31;
+    private static final int MAX_FEBRUARY_DAY = 28;
+
+    /**
+     * for coding style
+     */
+    private EventDate() {
+    }
+
+    /**
+     * Parses and validates a dd-mm-yyyy date, without allocating.
+     *
+     * @param date the date
+     * @return the packed date, or {@link #INVALID}
+     */
+    public static int parse(final String date) {
+        if (date == null || date.length() != LENGTH
+                || date.charAt(MONTH_START - 1) != '-' || date.charAt(YEAR_START - 1) != '-') {
+            return INVALID;
+        }
+
+        int day = digits(date, 0, DAY_DIGITS);
+        int month = digits(date, MONTH_START, DAY_DIGITS);
+        int year = digits(date, YEAR_START, YEAR_DIGITS);
+        if (day < MIN_DAY || day > MAX_DAY
+                || (month == FEBRUARY && day > MAX_FEBRUARY_DAY)
+                || month < MIN_MONTH || month > MAX_MONTH
+                || year < MIN_YEAR || year > MAX_YEAR) {
+            return INVALID;
+        }
+
+        return pack(year, month, day);
+    }
+
+    /**
+     * Packs a date.
+     *
+     * @param year  the year
+     * @param month the month
+     * @param day   the day
+     * @return the packed date
+     */
+    public static int pack(final int year, final int month, final int day) {
+        return year * YEAR_FACTOR + month * MONTH_FACTOR + day;
+    }
+
+    /**
+     * Gets year.
+     *
+     * @param date the packed date
+     * @return the year
+     */
+    public static int year(final int date) {
+        return date / YEAR_FACTOR;
+    }
+
+    /**
+     * Gets month.
+     *
+     * @param date the packed date
+     * @return the month
+     */
+    public static int month(final int date) {
+        return date / MONTH_FACTOR % MONTH_FACTOR;
+    }
+
+    /**
+     * Gets day.
+     *
+     * @param date the packed date
+     * @return the day
+     */
+    public static int day(final int date) {
+        return date % MONTH_FACTOR;
+    }
+
+    /**
+     * Formats a packed date as dd-mm-yyyy.
+     *
+     * @param date the packed date
+     * @return the date
+     */
+    public static String format(final int date) {
+        return "%02d-%02d-%04d".formatted(day(date), month(date), year(date));
+    }
+
+    /**
+     * Reads a run of decimal digits.
+     *
+     * @return the number, or -1 if a character isn't a digit
+     */
+    private static int digits(final String date, final int start, final int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = Character.digit(date.charAt(i), RADIX);
+            if (digit < 0) {
+                return INVALID;
+            }
+            value = value * RADIX + digit;
+        }
+        return value;
+    }
+}
@@ -1,11 +1,18 @@
 package app.user;
 
 import app.audio.Collections.Podcast;
+import app.audio.Files.Episode;
 import app.pages.HostPage;
+import app.recommendations.ListenRanking;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import fileio.input.CommandInput;
+import lombok.Getter;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * The type Host.
@@ -13,6 +20,11 @@ import java.util.ArrayList;
 public final class Host extends ContentCreator {
     private ArrayList<Podcast> podcasts;
     private ArrayList<Announcement> announcements;
+    @Getter
+    private final ListenRanking episodeListens = new ListenRanking();
+    @Getter
+    private final Set<String> listeners = new HashSet<>();
+    private final int wrappedLimit = 5;
 
     /**
      * Instantiates a new Host.
@@ -97,16 +109,37 @@ public final class Host extends ContentCreator {
         return null;
     }
     /**
-     * Returns a null ObjectNode.
+     * Record a listen of one of the host's episodes.
      *
-     * @param command The command input. This parameter is ignored.
-     * @return Always returns {@code null}.
+     * @param episode  the episode
+     * @param listener the listener's username
+     */
+    public void recordListen(final Episode episode, final String listener) {
+        episodeListens.increment(episode.getName());
+        listeners.add(listener);
+    }
+
+    /**
+     * Wraps the host's listening statistics into an ObjectNode.
      *
-     * This method is designed to return a null ObjectNode. It takes a command input as a parameter,
-     * but the parameter is ignored, and the method always returns {@code null}.
+     * @param command the command input
+     * @return the most listened episodes and the number of listeners,
+     *         or {@code null} if no episode was listened to
      */
     public ObjectNode wrapped(final CommandInput command) {
-        return null;
+        if (listeners.isEmpty()) {
+            return null;
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        ObjectNode node = objectMapper.createObjectNode();
+        Map<String, Integer> counts = episodeListens.getCounts();
+        episodeListens.getTop(wrappedLimit).forEach(name -> node.put(name, counts.get(name)));
+        objectNode.set("topEpisodes", node);
+        objectNode.put("listeners", listeners.size());
+
+        return objectNode;
     }
 
     @Override
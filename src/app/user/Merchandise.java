@@ -5,6 +5,7 @@ package app.user;
  */
 public class Merchandise {
     private String name;
+    private final String owner;
     private String description;
     private int price;
 
@@ -12,11 +13,14 @@ public class Merchandise {
      * Instantiates a new Merchandise.
      *
      * @param name        the name
+     * @param owner       the username of the artist
      * @param description the description
      * @param price       the price
      */
-    public Merchandise(final String name, final String description, final int price) {
+    public Merchandise(final String name, final String owner, final String description,
+                       final int price) {
         this.name = name;
+        this.owner = owner;
         this.description = description;
         this.price = price;
     }
@@ -39,6 +43,15 @@ public class Merchandise {
         this.name = name;
     }
 
+    /**
+     * Gets owner.
+     *
+     * @return the username of the artist
+     */
+    public String getOwner() {
+        return owner;
+    }
+
     /**
      * Gets description.
      *
@@ -8,13 +8,23 @@ import app.audio.Collections.PlaylistOutput;
 import app.audio.Files.AudioFile;
 import app.audio.Files.Song;
 import app.audio.LibraryEntry;
+import app.monetization.ListeningWindow;
+import app.notifications.Inbox;
+import app.notifications.Notification;
+import app.notifications.NotificationCenter;
 import app.pages.HomePage;
 import app.pages.LikedContentPage;
 import app.pages.Page;
+import app.pages.PageHistory;
 import app.player.Player;
+import app.player.PlayerSource;
 import app.player.PlayerStats;
+import app.recommendations.GenreIndex;
+import app.recommendations.ListenRanking;
+import app.statistics.ListenEvent;
 import app.searchBar.Filters;
 import app.searchBar.SearchBar;
+import app.utils.DeferredEffects;
 import app.utils.Enums;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -23,9 +33,14 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.Set;
 import java.util.LinkedHashMap;
 
 
@@ -33,22 +48,34 @@ import java.util.LinkedHashMap;
  * The type User.
  */
 public final class User extends UserAbstract {
+    /**
+     * The time to the next event of a user whose player won't change by itself.
+     */
+    public static final int NO_EVENT = -1;
+
     @Getter
     private ArrayList<Playlist> playlists;
     @Getter
-    private ArrayList<Song> likedSongs;
+    private LinkedHashSet<Song> likedSongs;
     @Getter
-    private ArrayList<Playlist> followedPlaylists;
+    private LinkedHashSet<Playlist> followedPlaylists;
     @Getter
     private final Player player;
     @Getter
     private boolean status;
+    @Getter
     private final SearchBar searchBar;
+    @Getter
+    @Setter
     private boolean lastSearched;
     @Getter
     @Setter
     private Page currentPage;
     @Getter
+    private final PageHistory pageHistory = new PageHistory();
+    @Getter
+    private long pageVersion = 0;
+    @Getter
     @Setter
     private HomePage homePage;
     @Getter
@@ -66,9 +93,6 @@ public final class User extends UserAbstract {
     @Getter
     @Setter
     private Map<String, Integer> albumName = new HashMap<>();
-    @Getter
-    @Setter
-    private String currentSong = null;
     @Setter
     @Getter
     private List<String> songList = new ArrayList<>();
@@ -76,6 +100,44 @@ public final class User extends UserAbstract {
     @Setter
     private List<Map<String, Integer>> result = new ArrayList<>();
     private final int wrappedLimit = 5;
+    @Getter
+    @Setter
+    private int registrationIndex;
+    /**
+     * The timestamp the player was last simulated up to.
+     */
+    @Getter
+    @Setter
+    private int simulatedTimestamp;
+    @Getter
+    private boolean premium;
+    @Getter
+    private final ListeningWindow premiumListens = new ListeningWindow();
+    @Getter
+    private final ListeningWindow freeListens = new ListeningWindow();
+    @Getter
+    private final ListenRanking episodeListens = new ListenRanking();
+    private final int premiumPrice = 1000000;
+    @Getter
+    private final Inbox inbox = new Inbox();
+    @Getter
+    private final Set<ContentCreator> subscriptions = new LinkedHashSet<>();
+    @Getter
+    private final List<Song> songRecommendations = new ArrayList<>();
+    @Getter
+    private final List<Playlist> playlistRecommendations = new ArrayList<>();
+    @Getter
+    @Setter
+    private LibraryEntry lastRecommendation;
+    @Getter
+    private final List<Merchandise> purchasedMerch = new ArrayList<>();
+    @Getter
+    @Setter
+    private String lastRecommendationType;
+    private final int minListenTime = 30;
+    private final int[] genreQuotas = {5, 3, 2};
+    private final int fansLimit = 5;
+    private final int fanSongsLimit = 5;
 
 
     /**
@@ -88,9 +150,11 @@ public final class User extends UserAbstract {
     public User(final String username, final int age, final String city) {
         super(username, age, city);
         playlists = new ArrayList<>();
-        likedSongs = new ArrayList<>();
-        followedPlaylists = new ArrayList<>();
+        likedSongs = new LinkedHashSet<>();
+        followedPlaylists = new LinkedHashSet<>();
         player = new Player();
+        player.setAdBreakListener(freeListens::payOut);
+        player.setTrackListener(this::trackStarted);
         searchBar = new SearchBar(username);
         lastSearched = false;
         status = true;
@@ -161,7 +225,7 @@ public final class User extends UserAbstract {
                 return "The selected ID is too high.";
             }
 
-            currentPage = selected.getPage();
+            navigateTo(selected.getPage());
             return "Successfully selected %s's page.".formatted(selected.getUsername());
         } else {
             LibraryEntry selected = searchBar.select(itemNumber);
@@ -204,36 +268,34 @@ public final class User extends UserAbstract {
                 && ((AudioCollection) searchBar.getLastSelected()).getNumberOfTracks() == 0) {
             return "You can't load an empty audio collection!";
         }
-        currentSong = null;
-        player.setSource(searchBar.getLastSelected(), searchBar.getLastSearchType());
+        loadSource(searchBar.getLastSelected(), searchBar.getLastSearchType());
+        searchBar.clearSelection();
+
+        return "Playback loaded successfully.";
+    }
+
+    private void loadSource(final LibraryEntry source, final String type) {
+        player.setSource(source, type);
         //----------------
         if (player.getType().equals("song")) {
-            String album = ((Song) player.getSource().getAudioFile()).getAlbum();
-            String genre = ((Song) player.getSource().getAudioFile()).getGenre();
-            String artistName = ((Song) player.getSource().getAudioFile()).getArtist();
-            String song = (player.getSource().getAudioFile()).getName();
-            incrementMap(albumName, album);
-            incrementMap(genreName, genre);
-            incrementMap(artistNames, artistName);
-            incrementMap(songName, song);
-            Admin admin = Admin.getInstance();
-            Artist artist = admin.getArtist(artistName);
-            if (artist == null) {
-                admin.addArtist(artistName);
-                artist = admin.getArtist(artistName);
-            }
-            artist.incrementMap(artist.getBestAlbums(), album);
-            artist.incrementMap(artist.getBestSongs(), song);
-            artist.incrementMap(artist.getBestFans(), getUsername());
-            artist.incrementMap(artist.getListeners(), getUsername());
-            artist.incrementMap(artist.getCities(), getCity());
+            emitListen((Song) player.getSource().getAudioFile());
+        }
+        if (player.getType().equals("podcast")) {
+            trackStarted(player.getSource().getAudioFile());
         }
         //------
-        searchBar.clearSelection();
-
         player.pause();
+    }
 
-        return "Playback loaded successfully.";
+    private void trackStarted(final AudioFile audioFile) {
+        if (player.getType().equals("podcast")) {
+            Admin.getInstance().getListenEvents().emit(new ListenEvent(this, audioFile,
+                    player.getSource().getAudioCollection().getOwner()));
+        }
+    }
+
+    private void emitListen(final Song song) {
+        Admin.getInstance().getListenEvents().emit(new ListenEvent(this, song, song.getArtist()));
     }
 
     /**
@@ -374,6 +436,34 @@ public final class User extends UserAbstract {
         return "Rewound successfully.";
     }
 
+    /**
+     * Seek string.
+     *
+     * @param offset the seconds to move forward, or backward if negative
+     * @return the string
+     */
+    public String seek(final Integer offset) {
+        if (!status) {
+            return "%s is offline.".formatted(getUsername());
+        }
+
+        if (offset == null) {
+            return "Please specify the offset to seek by.";
+        }
+
+        if (player.getCurrentAudioFile() == null) {
+            return "Please load a source before seeking.";
+        }
+
+        if (!player.getType().equals("podcast")) {
+            return "The loaded source is not a podcast.";
+        }
+
+        player.seek(offset);
+
+        return "Seeked successfully.";
+    }
+
     /**
      * Like string.
      *
@@ -395,15 +485,16 @@ public final class User extends UserAbstract {
 
         Song song = (Song) player.getCurrentAudioFile();
 
-        if (likedSongs.contains(song)) {
-            likedSongs.remove(song);
-            song.dislike();
+        GenreIndex genreIndex = Admin.getInstance().getGenreIndex();
+        invalidatePages();
+        if (likedSongs.remove(song)) {
+            DeferredEffects.apply(() -> genreIndex.updateLikes(song, () -> song.dislike(this)));
 
             return "Unlike registered successfully.";
         }
 
         likedSongs.add(song);
-        song.like();
+        DeferredEffects.apply(() -> genreIndex.updateLikes(song, () -> song.like(this)));
         return "Like registered successfully.";
     }
 
@@ -467,7 +558,10 @@ public final class User extends UserAbstract {
             return "A playlist with the same name already exists.";
         }
 
-        playlists.add(new Playlist(name, getUsername(), timestamp));
+        Playlist playlist = new Playlist(name, getUsername(), timestamp);
+        playlist.setSearchOrder(registrationIndex, playlists.size());
+        playlists.add(playlist);
+        Admin.getInstance().updatePlaylistVisibility(playlist);
 
         return "Playlist created successfully.";
     }
@@ -523,6 +617,7 @@ public final class User extends UserAbstract {
 
         Playlist playlist = playlists.get(playlistId - 1);
         playlist.switchVisibility();
+        Admin.getInstance().updatePlaylistVisibility(playlist);
 
         if (playlist.getVisibility() == Enums.Visibility.PUBLIC) {
             return "Visibility status updated successfully to public.";
@@ -572,15 +667,15 @@ public final class User extends UserAbstract {
             return "You cannot follow or unfollow your own playlist.";
         }
 
-        if (followedPlaylists.contains(playlist)) {
-            followedPlaylists.remove(playlist);
-            playlist.decreaseFollowers();
+        invalidatePages();
+        if (followedPlaylists.remove(playlist)) {
+            playlist.removeFollower(this);
 
             return "Playlist unfollowed successfully.";
         }
 
         followedPlaylists.add(playlist);
-        playlist.increaseFollowers();
+        playlist.addFollower(this);
 
 
         return "Playlist followed successfully.";
@@ -622,8 +717,8 @@ public final class User extends UserAbstract {
      * such as empty maps, the method returns {@code null}.
      */
     public ObjectNode wrapped(final CommandInput command) {
-        if (artistNames.isEmpty() || genreName.isEmpty() || songName.isEmpty()
-                || albumName.isEmpty()) {
+        if ((artistNames.isEmpty() || genreName.isEmpty() || songName.isEmpty()
+                || albumName.isEmpty()) && episodeListens.getCounts().isEmpty()) {
             return null;
         }
         ObjectMapper objectMapper = new ObjectMapper();
@@ -707,6 +802,9 @@ public final class User extends UserAbstract {
         objectNode.set("topAlbums", node3);
 
         ObjectNode node4 = objectMapper.createObjectNode();
+        Map<String, Integer> episodeCounts = episodeListens.getCounts();
+        episodeListens.getTop(wrappedLimit)
+                .forEach(episode -> node4.put(episode, episodeCounts.get(episode)));
         objectNode.set("topEpisodes", node4);
         return objectNode;
     }
@@ -739,6 +837,339 @@ public final class User extends UserAbstract {
         return "This user's preferred genre is %s.".formatted(preferredGenre);
     }
 
+    /**
+     * Adds a song listen to the current payout window.
+     *
+     * @param song the song
+     */
+    public void recordListen(final Song song) {
+        if (premium) {
+            premiumListens.record(song);
+        } else {
+            freeListens.record(song);
+        }
+    }
+
+    /**
+     * Buy premium string.
+     *
+     * @return the string
+     */
+    public String buyPremium() {
+        if (premium) {
+            return "%s is already a premium user.".formatted(getUsername());
+        }
+
+        premium = true;
+        return "%s bought the subscription successfully.".formatted(getUsername());
+    }
+
+    /**
+     * Cancel premium string.
+     *
+     * @return the string
+     */
+    public String cancelPremium() {
+        if (!premium) {
+            return "%s is not a premium user.".formatted(getUsername());
+        }
+
+        payOutPremium();
+        premium = false;
+        return "%s cancelled the subscription successfully.".formatted(getUsername());
+    }
+
+    /**
+     * Splits the subscription price between the songs listened to while premium.
+     */
+    public void payOutPremium() {
+        premiumListens.payOut(premiumPrice);
+    }
+
+    /**
+     * Ad break string.
+     *
+     * @param price the price of the ad
+     * @return the string
+     */
+    public String adBreak(final int price) {
+        if (!player.isPlaying()) {
+            return "%s is not playing any music.".formatted(getUsername());
+        }
+
+        player.insertAd(price);
+        return "Ad inserted successfully.";
+    }
+
+    /**
+     * Marks the content shown on the user's home and liked content pages as changed.
+     */
+    public void invalidatePages() {
+        pageVersion++;
+    }
+
+    /**
+     * Navigates to a page, remembering the current one.
+     *
+     * @param page the page
+     */
+    public void navigateTo(final Page page) {
+        pageHistory.visit(currentPage);
+        currentPage = page;
+    }
+
+    /**
+     * Previous page string.
+     *
+     * @return the string
+     */
+    public String previousPage() {
+        Page previous = pageHistory.back(currentPage);
+        if (previous == null) {
+            return "There are no pages left to go back.";
+        }
+
+        currentPage = previous;
+        return "The user %s has navigated successfully to the previous page."
+                .formatted(getUsername());
+    }
+
+    /**
+     * Next page string.
+     *
+     * @return the string
+     */
+    public String nextPage() {
+        Page next = pageHistory.forward(currentPage);
+        if (next == null) {
+            return "There are no pages left to go forward.";
+        }
+
+        currentPage = next;
+        return "The user %s has navigated successfully to the next page."
+                .formatted(getUsername());
+    }
+
+    /**
+     * Subscribe to, or unsubscribe from, the creator owning the current page.
+     *
+     * @return the string
+     */
+    public String subscribe() {
+        ContentCreator creator = currentPage.getContentCreator();
+        if (creator == null) {
+            return "To subscribe you need to be on the page of an artist or host.";
+        }
+
+        NotificationCenter notificationCenter = Admin.getInstance().getNotificationCenter();
+        if (subscriptions.remove(creator)) {
+            creator.getSubscribers().remove(this);
+            notificationCenter.unsubscribe(this, creator);
+            return "%s unsubscribed from %s successfully."
+                    .formatted(getUsername(), creator.getUsername());
+        }
+
+        subscriptions.add(creator);
+        creator.getSubscribers().add(this);
+        notificationCenter.subscribe(this, creator);
+        return "%s subscribed to %s successfully."
+                .formatted(getUsername(), creator.getUsername());
+    }
+
+    /**
+     * Buys merch from the artist owning the current page.
+     *
+     * @param merchName the merch name
+     * @return the string
+     */
+    public String buyMerch(final String merchName) {
+        if (!(currentPage.getContentCreator() instanceof Artist artist)) {
+            return "Cannot buy merch from this page.";
+        }
+
+        Merchandise merch = artist.getMerch(merchName);
+        if (merch == null) {
+            return "The merch %s doesn't exist.".formatted(merchName);
+        }
+
+        purchasedMerch.add(merch);
+        artist.getRevenue().addMerchRevenue(merch.getPrice());
+        return "%s has added new merch successfully.".formatted(getUsername());
+    }
+
+    /**
+     * See merch array list.
+     *
+     * @return the names of the bought merch, in purchase order
+     */
+    public ArrayList<String> seeMerch() {
+        ArrayList<String> results = new ArrayList<>();
+        for (Merchandise merch : purchasedMerch) {
+            results.add(merch.getName());
+        }
+
+        return results;
+    }
+
+    /**
+     * Removes and returns the received notifications.
+     *
+     * @return the notifications
+     */
+    public List<Notification> getNotifications() {
+        Admin.getInstance().getNotificationCenter().flush(this);
+        return inbox.drain();
+    }
+
+    /**
+     * Update recommendations string.
+     *
+     * @param recommendationType the recommendation type
+     * @return the string
+     */
+    public String updateRecommendations(final String recommendationType) {
+        boolean updated = switch (recommendationType) {
+            case "random_song" -> recommendRandomSong();
+            case "random_playlist" -> recommendRandomPlaylist();
+            case "fans_playlist" -> recommendFansPlaylist();
+            default -> false;
+        };
+
+        if (!updated) {
+            return "No new recommendations were found";
+        }
+
+        return "The recommendations for user %s have been updated successfully."
+                .formatted(getUsername());
+    }
+
+    /**
+     * Load recommendations string.
+     *
+     * @return the string
+     */
+    public String loadRecommendations() {
+        if (!status) {
+            return "%s is offline.".formatted(getUsername());
+        }
+
+        if (lastRecommendation == null) {
+            return "No recommendations available.";
+        }
+
+        loadSource(lastRecommendation, lastRecommendationType);
+        return "Playback loaded successfully.";
+    }
+
+    private Song getPlayingSong() {
+        if (player.getCurrentAudioFile() instanceof Song song) {
+            return song;
+        }
+        return null;
+    }
+
+    private boolean recommendRandomSong() {
+        Song song = getPlayingSong();
+        if (song == null) {
+            return false;
+        }
+
+        int listenTime = song.getDuration() - player.getSource().getDuration();
+        if (listenTime < minListenTime) {
+            return false;
+        }
+
+        List<Song> candidates = Admin.getInstance().getGenreIndex().getSongs(song.getGenre());
+        Song recommendation = candidates.get(new Random(listenTime).nextInt(candidates.size()));
+        songRecommendations.add(recommendation);
+        invalidatePages();
+        lastRecommendation = recommendation;
+        lastRecommendationType = "song";
+        return true;
+    }
+
+    private boolean recommendRandomPlaylist() {
+        Map<String, Integer> genres = new HashMap<>();
+        likedSongs.forEach(song -> incrementMap(genres, song.getGenre()));
+        playlists.forEach(playlist -> playlist.getSongs()
+                .forEach(song -> incrementMap(genres, song.getGenre())));
+        followedPlaylists.forEach(playlist -> playlist.getSongs()
+                .forEach(song -> incrementMap(genres, song.getGenre())));
+
+        List<String> topGenres = genres.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(genreQuotas.length).map(Map.Entry::getKey).toList();
+
+        GenreIndex genreIndex = Admin.getInstance().getGenreIndex();
+        Set<Song> songs = new LinkedHashSet<>();
+        for (int i = 0; i < topGenres.size(); i++) {
+            songs.addAll(genreIndex.getTopSongs(topGenres.get(i), genreQuotas[i]));
+        }
+
+        return recommendPlaylist("%s's recommendations".formatted(getUsername()), songs);
+    }
+
+    private boolean recommendFansPlaylist() {
+        Song song = getPlayingSong();
+        if (song == null) {
+            return false;
+        }
+
+        Admin admin = Admin.getInstance();
+        Artist artist = admin.getArtist(song.getArtist());
+        if (artist == null) {
+            return false;
+        }
+
+        Set<Song> songs = new LinkedHashSet<>();
+        for (String fanName : artist.getFans().getTop(fansLimit)) {
+            User fan = admin.getUser(fanName);
+            if (fan != null) {
+                songs.addAll(mostLiked(fan.getLikedSongs(), fanSongsLimit));
+            }
+        }
+
+        return recommendPlaylist("%s Fan Club recommendations".formatted(artist.getUsername()),
+                songs);
+    }
+
+    /**
+     * Selects the most liked songs in one pass, keeping them in a small sorted array instead
+     * of sorting every song. Songs with as many likes keep their order, as in a stable sort.
+     */
+    private static List<Song> mostLiked(final Collection<Song> songs, final int limit) {
+        Song[] top = new Song[limit];
+        int size = 0;
+        for (Song song : songs) {
+            int likes = song.getLikes();
+            if (size == limit && (limit == 0 || likes <= top[size - 1].getLikes())) {
+                continue;
+            }
+
+            int i = size < limit ? size++ : size - 1;
+            for (; i > 0 && top[i - 1].getLikes() < likes; i--) {
+                top[i] = top[i - 1];
+            }
+            top[i] = song;
+        }
+        return Arrays.asList(top).subList(0, size);
+    }
+
+    private boolean recommendPlaylist(final String name, final Set<Song> songs) {
+        if (songs.isEmpty()) {
+            return false;
+        }
+
+        Playlist playlist = new Playlist(name, getUsername());
+        songs.forEach(playlist::addSong);
+        playlistRecommendations.add(playlist);
+        invalidatePages();
+        lastRecommendation = playlist;
+        lastRecommendationType = "playlist";
+        return true;
+    }
+
     /**
      * Switch status.
      */
@@ -746,6 +1177,37 @@ public final class User extends UserAbstract {
         status = !status;
     }
 
+    /**
+     * Simulates the time passed since the player was last simulated.
+     *
+     * @param timestamp the current timestamp
+     */
+    public void catchUp(final int timestamp) {
+        if (timestamp > simulatedTimestamp) {
+            simulateTime(timestamp - simulatedTimestamp);
+        }
+        simulatedTimestamp = timestamp;
+    }
+
+    /**
+     * Gets the time until simulating the player next does something besides counting the
+     * remaining duration down: a track or an ad ending, or album tracks to account for.
+     *
+     * @return the time, or {@link #NO_EVENT} if the player won't change by itself
+     */
+    public int getTimeToNextEvent() {
+        if (!status) {
+            return NO_EVENT;
+        }
+
+        PlayerSource source = player.getSource();
+        if (source != null && "album".equals(player.getType())
+                && source.getAccountedIndex() < source.getIndex()) {
+            return 0;
+        }
+        return player.getTimeToNextTrack();
+    }
+
     /**
      * Simulate time.
      *
@@ -758,60 +1220,10 @@ public final class User extends UserAbstract {
 
         player.simulatePlayer(time);
         if (player.getSource() != null && player.getType().equals("album")) {
-            Admin admin = Admin.getInstance();
-            boolean exit = false;
-            Artist artist = admin.getArtist(player.getSource().getAudioCollection().getOwner());
-            if (currentSong != null) {
-                boolean isSongCurrentSong = false;
-                for (Song name : ((Album) player.getSource().getAudioCollection()).getSongs()) {
-                    if (isSongCurrentSong) {
-                        incrementMap(albumName, name.getAlbum());
-                        incrementMap(genreName, name.getGenre());
-                        incrementMap(artistNames, name.getArtist());
-                        incrementMap(songName, name.getName());
-                        if (artist == null) {
-                            admin.addArtist(name.getArtist());
-                            artist = admin.getArtist(name.getArtist());
-                        }
-                        artist.incrementMap(artist.getBestAlbums(), name.getAlbum());
-                        artist.incrementMap(artist.getBestSongs(), name.getName());
-                        artist.incrementMap(artist.getBestFans(), getUsername());
-                        artist.incrementMap(artist.getListeners(), getUsername());
-                        artist.incrementMap(artist.getCities(), getCity());
-                    }
-                    if (name.getName().equals(currentSong)) {
-                        isSongCurrentSong = true;
-                    }
-                    if (name.getName().equals(player.getSource().getAudioFile().getName())) {
-                        exit = true;
-                        break;
-                    }
-                }
-            } else {
-                for (Song name : ((Album) player.getSource().getAudioCollection()).getSongs()) {
-                    incrementMap(albumName, name.getAlbum());
-                    incrementMap(genreName, name.getGenre());
-                    incrementMap(artistNames, name.getArtist());
-                    incrementMap(songName, name.getName());
-                    if (artist == null) {
-                        admin.addArtist(name.getArtist());
-                        artist = admin.getArtist(name.getArtist());
-                    }
-                    artist.incrementMap(artist.getBestAlbums(), name.getAlbum());
-                    artist.incrementMap(artist.getBestSongs(), name.getName());
-                    artist.incrementMap(artist.getBestFans(), getUsername());
-                    artist.incrementMap(artist.getListeners(), getUsername());
-                    artist.incrementMap(artist.getCities(), getCity());
-                    if (name.getName().equals(player.getSource().getAudioFile().getName())) {
-                        exit = true;
-                        break;
-                    }
-                }
-            }
-            if (exit) {
-                currentSong = player.getSource().getAudioFile().getName();
-            } else {
-                currentSong = null;
+            PlayerSource source = player.getSource();
+            List<Song> songs = ((Album) source.getAudioCollection()).getSongs();
+            for (int i = source.accountStartedTracks(); i <= source.getIndex(); i++) {
+                emitListen(songs.get(i));
             }
         }
     }
@@ -0,0 +1,50 @@
+package app.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Changes to state shared between users, such as queued listen events and artist revenue,
+ * which a thread simulating a user may have to hold back.
+ *
+ * <p>Outside {@link #capture(Runnable)} an effect runs at once. Inside it, the effects are
+ * collected for the calling thread, so users can be simulated in parallel and their effects
+ * applied afterwards, user by user, in the order a serial simulation would have applied them.
+ */
+public final class DeferredEffects {
+    private static final ThreadLocal<List<Runnable>> CAPTURED = new ThreadLocal<>();
+
+    private DeferredEffects() {
+    }
+
+    /**
+     * Applies an effect, or holds it back if the thread is capturing effects.
+     *
+     * @param effect the effect
+     */
+    public static void apply(final Runnable effect) {
+        List<Runnable> captured = CAPTURED.get();
+        if (captured == null) {
+            effect.run();
+        } else {
+            captured.add(effect);
+        }
+    }
+
+    /**
+     * Runs some work, holding back the effects it applies.
+     *
+     * @param work the work
+     * @return the held back effects, in the order they were applied
+     */
+    public static List<Runnable> capture(final Runnable work) {
+        List<Runnable> captured = new ArrayList<>();
+        CAPTURED.set(captured);
+        try {
+            work.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return captured;
+    }
+}
@@ -25,4 +25,8 @@ public class Enums { // diferite enumuri, le-am gurpat pe toate intr-un loc
     public enum PlayerSourceType {
         LIBRARY, PLAYLIST, PODCAST, ALBUM
     }
+
+    public enum SyncPolicy {
+        NONE, GROUP, COMMAND
+    }
 }
@@ -0,0 +1,120 @@
+package app.utils;
+
+import java.util.Arrays;
+
+/**
+ * Numbers distinct keys 0, 1, 2, ... in the order they are first added, so that values can be
+ * accumulated in primitive arrays indexed by slot instead of in boxed map entries.
+ *
+ * <p>Keys are found through an open-addressing table of slots with linear probing; adding a
+ * key allocates nothing once the index has grown to the number of distinct keys it holds.
+ * Callers keep their value arrays at least {@link #capacity()} long.
+ *
+ * @param <K> the type of the keys
+ */
+public final class SlotIndex<K> {
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int EMPTY = 0;
+
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private int[] table = new int[2 * INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Gets the slot of a key.
+     *
+     * @param key the key
+     * @return the slot, or -1 if the key wasn't added
+     */
+    public int find(final K key) {
+        int mask = table.length - 1;
+        for (int i = hash(key) & mask; table[i] != EMPTY; i = (i + 1) & mask) {
+            int slot = table[i] - 1;
+            if (keys[slot].equals(key)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the slot of a key, adding the key in the next slot if it wasn't added yet.
+     *
+     * @param key the key
+     * @return the slot
+     */
+    public int add(final K key) {
+        int mask = table.length - 1;
+        int i = hash(key) & mask;
+        for (; table[i] != EMPTY; i = (i + 1) & mask) {
+            int slot = table[i] - 1;
+            if (keys[slot].equals(key)) {
+                return slot;
+            }
+        }
+
+        if (size == keys.length) {
+            grow();
+            return add(key);
+        }
+        keys[size] = key;
+        table[i] = size + 1;
+        return size++;
+    }
+
+    /**
+     * Gets the key in a slot.
+     *
+     * @param slot the slot
+     * @return the key
+     */
+    @SuppressWarnings("unchecked")
+    public K get(final int slot) {
+        return (K) keys[slot];
+    }
+
+    /**
+     * Gets the number of keys.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of slots that can be used before the index grows.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Removes every key, keeping the capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(table, EMPTY);
+        size = 0;
+    }
+
+    private void grow() {
+        keys = Arrays.copyOf(keys, 2 * keys.length);
+        table = new int[2 * keys.length];
+        int mask = table.length - 1;
+        for (int slot = 0; slot < size; slot++) {
+            int i = hash(keys[slot]) & mask;
+            while (table[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            table[i] = slot + 1;
+        }
+    }
+
+    private static int hash(final Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> (Integer.SIZE / 2));
+    }
+}
@@ -13,6 +13,7 @@ public final class CommandInput {
     private Integer playlistId; // pentru add/remove song
     private String playlistName; // pentru create playlist
     private Integer seed; // pentru shuffle
+    private Integer offset; // pentru seek
     private String recommendationType;
 
     private int age;
@@ -117,6 +118,14 @@ public final class CommandInput {
         this.seed = seed;
     }
 
+    public Integer getOffset() {
+        return offset;
+    }
+
+    public void setOffset(final Integer offset) {
+        this.offset = offset;
+    }
+
     public int getAge() {
         return age;
     }
@@ -0,0 +1,123 @@
+package main;
+
+import app.Admin;
+import app.CommandRunner;
+import app.server.ShardedCommandProcessor;
+import app.user.User;
+import checker.CheckerConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fileio.input.CommandInput;
+import fileio.input.FiltersInput;
+import fileio.input.LibraryInput;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Use this to measure the command throughput of the user shards on a synthetic workload
+ */
+public final class Benchmark {
+    private static final int DEFAULT_USERS = 4000;
+    private static final int DEFAULT_ROUNDS = 200;
+    private static final int[] DEFAULT_SHARDS = {1, 2, 4, 8};
+    private static final int USER_AGE = 20;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final String[] SESSION = {"search", "select", "load", "status", "forward",
+        "status", "playPause", "status", "playPause", "backward", "status"};
+
+    /**
+     * for coding style
+     */
+    private Benchmark() {
+    }
+
+    /**
+     * @param args the number of users, the number of rounds and the shard counts to compare,
+     *             1 meaning the commands run one by one on the main thread
+     * @throws IOException in case of exceptions to reading the library
+     */
+    public static void main(final String[] args) throws IOException {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_USERS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        int[] shardCounts = DEFAULT_SHARDS;
+        if (args.length > 2) {
+            shardCounts = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++) {
+                shardCounts[i - 2] = Integer.parseInt(args[i]);
+            }
+        }
+
+        LibraryInput library = new ObjectMapper().readValue(
+                new File(CheckerConstants.TESTS_PATH + "library/library.json"),
+                LibraryInput.class);
+        List<ObjectNode> serialOutputs = null;
+        for (int shardCount : shardCounts) {
+            Main.loadLibrary(library);
+            for (int i = 0; i < users; i++) {
+                Admin.getInstance().registerUser(new User(username(i), USER_AGE, "Bucharest"));
+            }
+            List<CommandInput> commands = workload(users, rounds);
+
+            long start = System.nanoTime();
+            List<ObjectNode> outputs = run(commands, shardCount);
+            double seconds = (System.nanoTime() - start) / NANOS_PER_SECOND;
+            if (serialOutputs == null) {
+                serialOutputs = outputs;
+            }
+
+            System.out.printf("shards=%d commands=%d seconds=%.3f commands/s=%.0f same=%b%n",
+                    shardCount, commands.size(), seconds, commands.size() / seconds,
+                    outputs.equals(serialOutputs));
+            Admin.resetInstance();
+        }
+    }
+
+    private static List<ObjectNode> run(final List<CommandInput> commands,
+                                        final int shardCount) {
+        if (shardCount > 1) {
+            try (ShardedCommandProcessor processor = new ShardedCommandProcessor(shardCount)) {
+                return processor.process(commands);
+            }
+        }
+
+        List<ObjectNode> outputs = new ArrayList<>(commands.size());
+        for (CommandInput command : commands) {
+            Admin.getInstance().updateTimestamp(command.getTimestamp());
+            outputs.add(CommandRunner.execute(command));
+        }
+        return outputs;
+    }
+
+    /**
+     * Every user goes through the same podcast session, one command per round.
+     */
+    private static List<CommandInput> workload(final int users, final int rounds) {
+        List<CommandInput> commands = new ArrayList<>(users * rounds);
+        for (int round = 0; round < rounds; round++) {
+            String name = SESSION[round % SESSION.length];
+            for (int i = 0; i < users; i++) {
+                CommandInput command = new CommandInput();
+                command.setCommand(name);
+                command.setUsername(username(i));
+                command.setTimestamp(round + 1);
+                if ("search".equals(name)) {
+                    FiltersInput filters = new FiltersInput();
+                    filters.setName("The");
+                    command.setType("podcast");
+                    command.setFilters(filters);
+                } else if ("select".equals(name)) {
+                    command.setItemNumber(1 + i % 2);
+                }
+                commands.add(command);
+            }
+        }
+        return commands;
+    }
+
+    private static String username(final int index) {
+        return "listener" + index;
+    }
+}
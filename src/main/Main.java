@@ -2,12 +2,20 @@ package main;
 
 import app.Admin;
 import app.CommandRunner;
+import app.audio.Files.SongCatalog;
+import app.player.PlaybackScheduler;
+import app.player.Player;
+import app.player.PodcastBookmarks;
 import app.searchBar.SearchBar;
+import app.server.ShardedCommandProcessor;
+import app.snapshot.CommandJournal;
+import app.utils.Enums;
 import checker.Checker;
 import checker.CheckerConstants;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import fileio.input.CommandInput;
 import fileio.input.LibraryInput;
 
@@ -16,12 +24,53 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * The entry point to this homework. It runs the checker that tests your implentation.
  */
 public final class Main {
+    /**
+     * The system property naming the directory of the command journals; without it,
+     * commands aren't journaled.
+     */
+    private static final String JOURNAL_PROPERTY = "journal";
+    /**
+     * The system property setting the number of journaled commands written to the disk
+     * together.
+     */
+    private static final String JOURNAL_GROUP_SIZE_PROPERTY = "journalGroupSize";
+    private static final int DEFAULT_JOURNAL_GROUP_SIZE = 64;
+    /**
+     * The system property setting the number of journaled commands after which a new
+     * snapshot is taken.
+     */
+    private static final String JOURNAL_COMPACTION_INTERVAL_PROPERTY =
+            "journalCompactionInterval";
+    private static final int DEFAULT_JOURNAL_COMPACTION_INTERVAL = 10000;
+    /**
+     * The system property naming the song catalog file, written from the library if it
+     * doesn't exist or was written from another library; without it, songs are kept on the
+     * heap.
+     */
+    private static final String SONG_CATALOG_PROPERTY = "songCatalog";
+    /**
+     * The system property limiting the number of podcasts each user keeps a bookmark for;
+     * without it, every podcast keeps its bookmark.
+     */
+    private static final String BOOKMARK_LIMIT_PROPERTY = "podcastBookmarkLimit";
+    /**
+     * The system property setting the number of threads simulating the players; without it,
+     * they're simulated on the main thread.
+     */
+    private static final String SIMULATION_THREADS_PROPERTY = "simulationThreads";
+    /**
+     * The system property setting the number of user shards running commands in parallel;
+     * without it, or with a journal, commands run one by one on the main thread.
+     */
+    private static final String COMMAND_SHARDS_PROPERTY = "commandShards";
+
     /**
      * for coding style
      */
@@ -77,74 +126,85 @@ public final class Main {
         CommandInput[] commands = objectMapper.readValue(new File(CheckerConstants.TESTS_PATH
                         + filePath1),
                 CommandInput[].class);
-        ArrayNode outputs = objectMapper.createArrayNode();
 
-        Admin admin = Admin.getInstance();
-        SearchBar.updateAdmin();
-        admin.setUsers(library.getUsers());
-        admin.setSongs(library.getSongs());
-        admin.setPodcasts(library.getPodcasts());
-        CommandRunner.updateAdmin();
+        Player.setBookmarkLimit(Integer.getInteger(BOOKMARK_LIMIT_PROPERTY,
+                PodcastBookmarks.UNLIMITED));
+        PlaybackScheduler.setParallelism(Integer.getInteger(SIMULATION_THREADS_PROPERTY, 1));
+        String journalDirectory = System.getProperty(JOURNAL_PROPERTY);
+        CommandJournal journal = journalDirectory == null ? null
+                : new CommandJournal(Path.of(journalDirectory, filePath1),
+                        Enums.SyncPolicy.GROUP,
+                        Integer.getInteger(JOURNAL_GROUP_SIZE_PROPERTY, DEFAULT_JOURNAL_GROUP_SIZE),
+                        Integer.getInteger(JOURNAL_COMPACTION_INTERVAL_PROPERTY,
+                                DEFAULT_JOURNAL_COMPACTION_INTERVAL));
+        // A recovered journal brings the outputs of the commands applied before the crash.
+        ArrayNode outputs = journal == null ? objectMapper.createArrayNode()
+                : journal.getOutputs();
+        int applied = 0;
 
-        for (CommandInput command : commands) {
-            admin.updateTimestamp(command.getTimestamp());
-
-            String commandName = command.getCommand();
-
-            switch (commandName) {
-                case "search" -> outputs.add(CommandRunner.search(command));
-                case "select" -> outputs.add(CommandRunner.select(command));
-                case "load" -> outputs.add(CommandRunner.load(command));
-                case "playPause" -> outputs.add(CommandRunner.playPause(command));
-                case "repeat" -> outputs.add(CommandRunner.repeat(command));
-                case "shuffle" -> outputs.add(CommandRunner.shuffle(command));
-                case "forward" -> outputs.add(CommandRunner.forward(command));
-                case "backward" -> outputs.add(CommandRunner.backward(command));
-                case "like" -> outputs.add(CommandRunner.like(command));
-                case "next" -> outputs.add(CommandRunner.next(command));
-                case "prev" -> outputs.add(CommandRunner.prev(command));
-                case "createPlaylist" -> outputs.add(CommandRunner.createPlaylist(command));
-                case "addRemoveInPlaylist" -> outputs.add(CommandRunner
-                        .addRemoveInPlaylist(command));
-                case "switchVisibility" -> outputs.add(CommandRunner.switchVisibility(command));
-                case "showPlaylists" -> outputs.add(CommandRunner.showPlaylists(command));
-                case "follow" -> outputs.add(CommandRunner.follow(command));
-                case "status" -> outputs.add(CommandRunner.status(command));
-                case "showPreferredSongs" -> outputs.add(CommandRunner.showLikedSongs(command));
-                case "getPreferredGenre" -> outputs.add(CommandRunner.getPreferredGenre(command));
-                case "getTop5Songs" -> outputs.add(CommandRunner.getTop5Songs(command));
-                case "getTop5Playlists" -> outputs.add(CommandRunner.getTop5Playlists(command));
-                case "switchConnectionStatus" -> outputs.add(CommandRunner
-                        .switchConnectionStatus(command));
-                case "addUser" -> outputs.add(CommandRunner.addUser(command));
-                case "deleteUser" -> outputs.add(CommandRunner.deleteUser(command));
-                case "addPodcast" -> outputs.add(CommandRunner.addPodcast(command));
-                case "removePodcast" -> outputs.add(CommandRunner.removePodcast(command));
-                case "addAnnouncement" -> outputs.add(CommandRunner.addAnnouncement(command));
-                case "removeAnnouncement" -> outputs.add(CommandRunner
-                        .removeAnnouncement(command));
-                case "addAlbum" -> outputs.add(CommandRunner.addAlbum(command));
-                case "removeAlbum" -> outputs.add(CommandRunner.removeAlbum(command));
-                case "addEvent" -> outputs.add(CommandRunner.addEvent(command));
-                case "removeEvent" -> outputs.add(CommandRunner.removeEvent(command));
-                case "addMerch" -> outputs.add(CommandRunner.addMerch(command));
-                case "changePage" -> outputs.add(CommandRunner.changePage(command));
-                case "printCurrentPage" -> outputs.add(CommandRunner.printCurrentPage(command));
-                case "getTop5Albums" -> outputs.add(CommandRunner.getTop5AlbumList(command));
-                case "getTop5Artists" -> outputs.add(CommandRunner.getTop5ArtistList(command));
-                case "getAllUsers" -> outputs.add(CommandRunner.getAllUsers(command));
-                case "getOnlineUsers" -> outputs.add(CommandRunner.getOnlineUsers(command));
-                case "showAlbums" -> outputs.add(CommandRunner.showAlbums(command));
-                case "showPodcasts" -> outputs.add(CommandRunner.showPodcasts(command));
-                case "wrapped" -> outputs.add(CommandRunner.wrapped(command));
-                default -> System.out.println("Invalid command " + commandName);
+        if (journal != null && journal.hasState()) {
+            applied = journal.recover();
+        } else {
+            loadLibrary(library);
+            if (journal != null) {
+                journal.compact();
             }
         }
+
+        int shardCount = Integer.getInteger(COMMAND_SHARDS_PROPERTY, 1);
+        if (journal == null && shardCount > 1) {
+            try (ShardedCommandProcessor processor = new ShardedCommandProcessor(shardCount)) {
+                processor.process(Arrays.asList(commands)).stream()
+                        .filter(Objects::nonNull)
+                        .forEach(outputs::add);
+            }
+            applied = commands.length;
+        }
+
+        for (int i = applied; i < commands.length; i++) {
+            CommandInput command = commands[i];
+            if (journal != null) {
+                journal.append(command);
+            }
+            Admin.getInstance().updateTimestamp(command.getTimestamp());
+
+            ObjectNode output = CommandRunner.execute(command);
+            if (output != null) {
+                outputs.add(output);
+            }
+            if (journal != null) {
+                journal.compactIfDue();
+            }
+        }
+
         outputs.add(CommandRunner.end());
 
         ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
         objectWriter.writeValue(new File(filePath2), outputs);
 
+        if (journal != null) {
+            journal.delete();
+        }
         Admin.resetInstance();
     }
+
+    /**
+     * Loads the library into the admin instance.
+     *
+     * @param library the library
+     * @throws IOException in case of exceptions to reading / writing the song catalog
+     */
+    static void loadLibrary(final LibraryInput library) throws IOException {
+        Admin admin = Admin.getInstance();
+        SearchBar.updateAdmin();
+        admin.setUsers(library.getUsers());
+        String songCatalog = System.getProperty(SONG_CATALOG_PROPERTY);
+        if (songCatalog == null) {
+            admin.setSongs(library.getSongs());
+        } else {
+            admin.setSongs(SongCatalog.open(Path.of(songCatalog), library.getSongs()));
+        }
+        admin.setPodcasts(library.getPodcasts());
+        CommandRunner.updateAdmin();
+    }
 }
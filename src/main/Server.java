@@ -0,0 +1,44 @@
+package main;
+
+import app.server.CommandSequencer;
+import app.server.CommandServer;
+import checker.CheckerConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fileio.input.LibraryInput;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Use this to serve live clients over HTTP instead of replaying an input file
+ */
+public final class Server {
+    private static final int DEFAULT_PORT = 8080;
+
+    /**
+     * for coding style
+     */
+    private Server() {
+    }
+
+    /**
+     * @param args the port to listen on, 8080 by default
+     * @throws IOException in case of exceptions to reading the library or binding the port
+     */
+    public static void main(final String[] args) throws IOException {
+        LibraryInput library = new ObjectMapper().readValue(
+                new File(CheckerConstants.TESTS_PATH + "library/library.json"),
+                LibraryInput.class);
+        Main.loadLibrary(library);
+
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        CommandSequencer sequencer = new CommandSequencer(null);
+        CommandServer server = new CommandServer(new InetSocketAddress(port), sequencer);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            sequencer.close();
+        }));
+        System.out.println("Serving commands on " + server.getAddress());
+    }
+}